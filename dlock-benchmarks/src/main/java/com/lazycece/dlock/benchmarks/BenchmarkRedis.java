@@ -0,0 +1,138 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.benchmarks;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The redis the benchmarks run against. A redis-server is spawned on the given port when
+ * <code>dlock.benchmark.redis.server</code> names its binary, otherwise the running redis at
+ * <code>dlock.benchmark.redis.host</code> and <code>dlock.benchmark.redis.port</code> is used.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class BenchmarkRedis {
+
+    public static final String SERVER_PROPERTY = "dlock.benchmark.redis.server";
+    public static final String HOST_PROPERTY = "dlock.benchmark.redis.host";
+    public static final String PORT_PROPERTY = "dlock.benchmark.redis.port";
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 5000;
+
+    private final Process server;
+    private final LettuceConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    private BenchmarkRedis(Process server, LettuceConnectionFactory connectionFactory) {
+        this.server = server;
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * Connect to the benchmark redis, spawning it first if configured.
+     *
+     * @return started redis
+     */
+    public static BenchmarkRedis start() {
+        String host = System.getProperty(HOST_PROPERTY, "localhost");
+        int port = Integer.getInteger(PORT_PROPERTY, 6379);
+        String serverBinary = System.getProperty(SERVER_PROPERTY);
+
+        Process server = null;
+        if (serverBinary != null && !serverBinary.isEmpty()) {
+            server = spawn(serverBinary, port);
+            host = "localhost";
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        BenchmarkRedis redis = new BenchmarkRedis(server, connectionFactory);
+        redis.awaitReady();
+        return redis;
+    }
+
+    public StringRedisTemplate getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    /**
+     * Drop all the keys, every trial starts from an empty redis.
+     */
+    public void flush() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    /**
+     * Close the connections and stop the spawned redis-server.
+     */
+    public void stop() {
+        connectionFactory.destroy();
+        if (server != null) {
+            server.destroy();
+            try {
+                server.waitFor(STARTUP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Process spawn(String serverBinary, int port) {
+        try {
+            // in-memory only, persistence would be measured along with the locks.
+            return new ProcessBuilder(serverBinary, "--port", String.valueOf(port), "--save", "", "--appendonly", "no")
+                    .redirectOutput(ProcessBuilder.Redirect.to(new File(System.getProperty("java.io.tmpdir"), "dlock-benchmark-redis.log")))
+                    .redirectErrorStream(true)
+                    .start();
+        } catch (IOException e) {
+            throw new IllegalStateException("spawn redis-server fail: " + serverBinary, e);
+        }
+    }
+
+    private void awaitReady() {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                redisTemplate.execute((RedisCallback<String>) connection -> connection.ping());
+                return;
+            } catch (Exception e) {
+                if (System.currentTimeMillis() > deadline) {
+                    this.stop();
+                    throw new IllegalStateException("redis is not ready for the benchmarks", e);
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for redis", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.benchmarks;
+
+import com.lazycece.dlock.core.DLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended locks: all the benchmark threads on one key, and the same threads spread over many keys.
+ * The thread count can be changed with <code>-t</code>.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class ContentionBenchmark {
+
+    private static final String HOT_KEY = FactoryState.KEY_PREFIX + "hot";
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+
+        @Param({"10000"})
+        int keyCount;
+        @Param({"1000"})
+        long waitMillisTime;
+
+        String[] lockKeys;
+
+        @Setup
+        public void setUp() {
+            lockKeys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                lockKeys[i] = FactoryState.KEY_PREFIX + "key:" + i;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean oneKey(FactoryState state, Keys keys) {
+        return lockUnlock(state.getFactory().produce(HOT_KEY), keys.waitMillisTime);
+    }
+
+    @Benchmark
+    public boolean manyKeys(FactoryState state, Keys keys) {
+        String lockKey = keys.lockKeys[ThreadLocalRandom.current().nextInt(keys.keyCount)];
+        return lockUnlock(state.getFactory().produce(lockKey), keys.waitMillisTime);
+    }
+
+    private static boolean lockUnlock(DLock lock, long waitMillisTime) {
+        boolean locked = lock.tryLock(waitMillisTime, 30, TimeUnit.SECONDS);
+        if (locked) {
+            lock.unlock();
+        }
+        return locked;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.benchmarks;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead of the {@link DLockUtils} wrappers over the plain lock and unlock they wrap.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DLockUtilsBenchmark {
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+
+        final String lockKey = FactoryState.KEY_PREFIX + UUID.randomUUID();
+    }
+
+    @Benchmark
+    public void plain(FactoryState state, ThreadKey threadKey, Blackhole blackhole) {
+        DLock lock = state.getFactory().produce(threadKey.lockKey);
+        if (lock.tryLock(30, TimeUnit.SECONDS)) {
+            try {
+                blackhole.consume(threadKey);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Benchmark
+    public void handler(FactoryState state, ThreadKey threadKey, Blackhole blackhole) {
+        DLockUtils.tryLock(threadKey.lockKey, 30, TimeUnit.SECONDS, () -> blackhole.consume(threadKey));
+    }
+
+    @Benchmark
+    public ThreadKey answer(FactoryState state, ThreadKey threadKey) {
+        return DLockUtils.tryLock(threadKey.lockKey, 30, TimeUnit.SECONDS, () -> threadKey);
+    }
+}
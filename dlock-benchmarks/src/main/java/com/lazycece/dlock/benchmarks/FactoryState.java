@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.benchmarks;
+
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.config.DLockConfig;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A lock factory over the benchmark redis, shared by all the benchmark threads of a trial.
+ * Renewal is off so that the lock round trips are measured alone, see {@link RenewalBenchmark}.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+@State(Scope.Benchmark)
+public class FactoryState {
+
+    public static final String KEY_PREFIX = "dlock:benchmark:";
+
+    protected BenchmarkRedis redis;
+    protected DLockFactory factory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redis = BenchmarkRedis.start();
+        redis.flush();
+
+        DLockConfig lockConfig = new DLockConfig();
+        lockConfig.setEnableRenewal(false);
+        this.configure(lockConfig);
+
+        factory = new DLockFactory(redis.getRedisTemplate());
+        factory.setLockConfig(lockConfig);
+        this.prepare();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.shutdown();
+        redis.flush();
+        redis.stop();
+    }
+
+    public DLockFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Customize the lock config of the trial.
+     *
+     * @param lockConfig lock config
+     */
+    protected void configure(DLockConfig lockConfig) {
+    }
+
+    /**
+     * Prepare the redis data of the trial, called once the factory is ready.
+     */
+    protected void prepare() {
+    }
+}
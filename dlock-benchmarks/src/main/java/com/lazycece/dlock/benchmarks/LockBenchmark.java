@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.benchmarks;
+
+import com.lazycece.dlock.core.DLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uncontended lock and unlock, each benchmark thread on its own key.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LockBenchmark {
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+
+        final String lockKey = FactoryState.KEY_PREFIX + UUID.randomUUID();
+    }
+
+    /**
+     * Nested acquires after the first one, handled locally without going to redis.
+     */
+    @State(Scope.Thread)
+    public static class Nesting {
+
+        @Param({"1", "4"})
+        int depth;
+    }
+
+    /**
+     * A key locked by the benchmark thread for the whole iteration.
+     */
+    @State(Scope.Thread)
+    public static class HeldKey {
+
+        final String lockKey = FactoryState.KEY_PREFIX + UUID.randomUUID();
+        DLock lock;
+
+        @Setup(Level.Iteration)
+        public void lock(FactoryState state) {
+            lock = state.getFactory().produce(lockKey);
+            lock.tryLock(10, TimeUnit.MINUTES);
+        }
+
+        @TearDown(Level.Iteration)
+        public void unlock() {
+            lock.unlock();
+        }
+    }
+
+    @Benchmark
+    public boolean tryLockUnlock(FactoryState state, ThreadKey threadKey) {
+        DLock lock = state.getFactory().produce(threadKey.lockKey);
+        boolean locked = lock.tryLock(30, TimeUnit.SECONDS);
+        if (locked) {
+            lock.unlock();
+        }
+        return locked;
+    }
+
+    @Benchmark
+    public boolean reentrant(FactoryState state, ThreadKey threadKey, Nesting nesting) {
+        DLock lock = state.getFactory().produce(threadKey.lockKey);
+        if (!lock.tryLock(30, TimeUnit.SECONDS)) {
+            return false;
+        }
+        for (int i = 0; i < nesting.depth; i++) {
+            DLock nested = state.getFactory().produce(threadKey.lockKey);
+            nested.tryLock(30, TimeUnit.SECONDS);
+            nested.unlock();
+        }
+        lock.unlock();
+        return true;
+    }
+
+    /**
+     * The local part of a nested acquire alone, no redis round trip: produce, tryLock and unlock
+     * on a key already held by the thread.
+     */
+    @Benchmark
+    public boolean nestedLocal(FactoryState state, HeldKey heldKey) {
+        DLock nested = state.getFactory().produce(heldKey.lockKey);
+        boolean locked = nested.tryLock(30, TimeUnit.SECONDS);
+        nested.unlock();
+        return locked;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.benchmarks;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.renewal.RenewalArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of lease renewal: registering and cancelling a lease with the renewal engine on every
+ * lock held long enough, and one renewal script call over a batch of leases.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RenewalBenchmark {
+
+    private static final long LEASE_MILLIS_TIME = 60_000;
+
+    @State(Scope.Benchmark)
+    public static class RenewalState extends FactoryState {
+
+        @Param({"false", "true"})
+        boolean enableBatchRenewal;
+
+        @Override
+        protected void configure(DLockConfig lockConfig) {
+            lockConfig.setEnableRenewal(true);
+            lockConfig.setEnableBatchRenewal(enableBatchRenewal);
+        }
+    }
+
+    /**
+     * A batch of locks held by one token, renewed together.
+     */
+    @State(Scope.Benchmark)
+    public static class BatchState extends FactoryState {
+
+        @Param({"1", "100", "500"})
+        int batchSize;
+
+        final String token = UUID.randomUUID().toString();
+        RenewalArgs renewalArgs;
+
+        @Override
+        protected void prepare() {
+            renewalArgs = new RenewalArgs(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                String lockKey = KEY_PREFIX + "renewal:" + i;
+                redis.getRedisTemplate().execute(ScriptRegistry.LOCK, Collections.singletonList(lockKey),
+                        token, String.valueOf(LEASE_MILLIS_TIME));
+                renewalArgs.add(lockKey, token, LEASE_MILLIS_TIME);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+
+        final String lockKey = FactoryState.KEY_PREFIX + UUID.randomUUID();
+    }
+
+    @Benchmark
+    public boolean renewedLock(RenewalState state, ThreadKey threadKey) {
+        DLock lock = state.getFactory().produce(threadKey.lockKey);
+        boolean locked = lock.tryLock(LEASE_MILLIS_TIME, TimeUnit.MILLISECONDS);
+        if (locked) {
+            lock.unlock();
+        }
+        return locked;
+    }
+
+    @Benchmark
+    public List<?> renewalScript(BatchState state) {
+        // the arguments are built per call as the renewal engine does, trailing client clock included.
+        return state.redis.getRedisTemplate().execute(ScriptRegistry.RENEWAL, state.renewalArgs.getKeys(),
+                (Object[]) state.renewalArgs.getArgs());
+    }
+}
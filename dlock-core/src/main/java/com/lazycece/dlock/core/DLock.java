@@ -33,7 +33,8 @@ public interface DLock {
     boolean tryLock(long leaseTime, TimeUnit leaseTimeUnit);
 
     /**
-     * try lock
+     * try lock. A nested acquire by the thread already holding the lock only counts the hold and
+     * keeps the lease of the outermost acquire, it must be released as many times as acquired.
      *
      * @param waitMillisTime wait time while trying.
      * @param leaseTime      lease time
@@ -54,6 +55,16 @@ public interface DLock {
      */
     boolean isLocked();
 
+    /**
+     * The fencing token of the current hold, it increases with every new holder of the lock key, so
+     * storage that remembers the largest token seen can reject the writes of a stale holder.
+     *
+     * @return fencing token, 0 if not locked or fencing is not enabled
+     */
+    default long getFencingToken() {
+        return 0;
+    }
+
     /**
      * Number of holds on this lock by the current.
      *
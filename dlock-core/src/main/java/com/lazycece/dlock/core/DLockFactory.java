@@ -16,11 +16,38 @@
 
 package com.lazycece.dlock.core;
 
+import com.lazycece.dlock.core.cluster.ClusterKeys;
 import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.exception.DLockException;
+import com.lazycece.dlock.core.gate.LocalGate;
+import com.lazycece.dlock.core.model.AsyncRedisDistributedLock;
+import com.lazycece.dlock.core.model.FairRedisDistributedLock;
+import com.lazycece.dlock.core.model.FencedRedisDistributedLock;
+import com.lazycece.dlock.core.model.LockHolds;
+import com.lazycece.dlock.core.model.ReactiveRedisDistributedLock;
 import com.lazycece.dlock.core.model.RedisDistributedLock;
+import com.lazycece.dlock.core.model.RedisMultiLock;
+import com.lazycece.dlock.core.model.RedisReadLock;
+import com.lazycece.dlock.core.model.RedisReadWriteLock;
+import com.lazycece.dlock.core.model.RedisSemaphore;
+import com.lazycece.dlock.core.model.RedisWriteLock;
+import com.lazycece.dlock.core.observe.CompositeLockObserver;
+import com.lazycece.dlock.core.observe.ContentionProfiler;
+import com.lazycece.dlock.core.observe.LockObserver;
+import com.lazycece.dlock.core.pubsub.LockSubscriber;
+import com.lazycece.dlock.core.renewal.AdaptiveLease;
+import com.lazycece.dlock.core.renewal.RenewalScheduler;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import com.lazycece.dlock.core.script.ScriptRunner;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
@@ -29,11 +56,37 @@ import java.util.UUID;
  */
 public class DLockFactory {
 
+    private static final int TOKEN_CACHE_SIZE = 256;
+
     private static DLockFactory instance;
     private final StringRedisTemplate redisTemplate;
-    private final ThreadLocal<String> dlockToken = new ThreadLocal<>();
+    /**
+     * the tokens of this factory are this id followed by the thread id.
+     */
+    private final String factoryId = UUID.randomUUID().toString();
+    /**
+     * the tokens of the recent threads, direct-mapped by thread id, so a thread does not build its
+     * token on every produce and the threads gone leave at most a bounded table behind.
+     */
+    private final ThreadToken[] tokens = new ThreadToken[TOKEN_CACHE_SIZE];
+    /**
+     * locks held by each thread, nested acquire and release are handled locally.
+     */
+    private final LockHolds lockHolds = new LockHolds();
 
     private DLockConfig lockConfig = new DLockConfig();
+    private volatile LockSubscriber subscriber;
+    private volatile RenewalScheduler renewalScheduler;
+    private volatile ScriptRunner scriptRunner;
+    private volatile LockObserver lockObserver;
+    private volatile ContentionProfiler contentionProfiler;
+    private volatile AdaptiveLease adaptiveLease;
+    /**
+     * the observer handed to the locks, the one given combined with the profiler.
+     */
+    private volatile LockObserver combinedObserver;
+    private final LocalGate localGate = new LocalGate();
+    private volatile ReactiveStringRedisTemplate reactiveRedisTemplate;
 
     public DLockFactory(StringRedisTemplate redisTemplate) {
         this.redisTemplate = redisTemplate;
@@ -46,18 +99,316 @@ public class DLockFactory {
 
     public DLock produce(String lockKey) {
         // thread reentrant
-        String token = dlockToken.get();
-        if (!StringUtils.hasText(token)) {
-            token = UUID.randomUUID().toString();
-            dlockToken.set(token);
+        String token = this.currentToken();
+
+        if (lockConfig.isEnableFencing()) {
+            return this.configure(new FencedRedisDistributedLock(redisTemplate, lockKey, token, lockHolds));
+        }
+        return this.configure(new RedisDistributedLock(redisTemplate, lockKey, token, lockHolds));
+    }
+
+    /**
+     * Produce a fair lock, the waiters get the lock in the order they first tried it.
+     *
+     * @param lockKey lock key
+     * @return fair lock
+     */
+    public DLock produceFair(String lockKey) {
+        // thread reentrant
+        String token = this.currentToken();
+
+        return this.configure(new FairRedisDistributedLock(redisTemplate, lockKey, token, lockHolds));
+    }
+
+    /**
+     * Produce a read-write lock, many readers or one writer hold it at a time.
+     *
+     * @param lockKey lock key
+     * @return read-write lock
+     */
+    public DReadWriteLock produceReadWrite(String lockKey) {
+        // thread reentrant
+        String token = this.currentToken();
+
+        RedisReadLock readLock = new RedisReadLock(redisTemplate, lockKey, token, lockHolds);
+        this.configure(readLock);
+        // readers share the lock, never make them wait behind each other locally.
+        readLock.setLocalGate(null);
+        RedisWriteLock writeLock = new RedisWriteLock(redisTemplate, lockKey, token, lockHolds);
+        this.configure(writeLock);
+        return new RedisReadWriteLock(readLock, writeLock);
+    }
+
+    /**
+     * Produce a lock of several keys, all the keys are locked or none in one round trip.
+     *
+     * @param lockKeys lock keys
+     * @return multi-key lock
+     */
+    public DLock produceMulti(Collection<String> lockKeys) {
+        if (lockKeys == null || lockKeys.isEmpty()) {
+            throw new IllegalArgumentException("lock keys must not be empty");
+        }
+        List<String> keys = new ArrayList<>(new TreeSet<>(lockKeys));
+        if (lockConfig.isEnableCluster()) {
+            int slot = ClusterKeys.slot(keys.get(0));
+            for (String key : keys) {
+                if (ClusterKeys.slot(key) != slot) {
+                    throw new DLockException("multi lock keys must share one hash slot in cluster mode, "
+                            + "format them with a common hash tag, e.g. {tag}:key");
+                }
+            }
         }
+        // thread reentrant
+        String token = this.currentToken();
+
+        return this.configure(new RedisMultiLock(redisTemplate, keys, token, lockHolds));
+    }
 
-        RedisDistributedLock lock = new RedisDistributedLock(redisTemplate, lockKey, token);
+    /**
+     * Produce a semaphore of the given permits. It is owned by the semaphore object rather than
+     * the current thread, so every call gets a new owner.
+     *
+     * @param semaphoreKey semaphore key
+     * @param permits      total permits, all the semaphores of the key must agree on it
+     * @return semaphore
+     */
+    public DSemaphore produceSemaphore(String semaphoreKey, int permits) {
+        RedisSemaphore semaphore = new RedisSemaphore(redisTemplate, semaphoreKey, permits,
+                factoryId + ":" + UUID.randomUUID());
+        semaphore.setLockConfig(lockConfig);
+        semaphore.setSubscriber(this.getSubscriber());
+        semaphore.setRenewalScheduler(this.getRenewalScheduler());
+        semaphore.setScriptRunner(this.getScriptRunner());
+        return semaphore;
+    }
+
+    private RedisDistributedLock configure(RedisDistributedLock lock) {
         lock.setLockConfig(lockConfig);
+        lock.setSubscriber(this.getSubscriber());
+        lock.setRenewalScheduler(this.getRenewalScheduler());
+        lock.setScriptRunner(this.getScriptRunner());
+        lock.setLockObserver(this.getLockObserver());
+        if (lockConfig.isEnableLocalGate()) {
+            lock.setLocalGate(localGate);
+        }
+        return lock;
+    }
+
+    /**
+     * Produce a non-blocking lock. It is owned by the lock object rather than the current thread,
+     * so every call gets a new owner.
+     *
+     * @param lockKey lock key
+     * @return async lock
+     */
+    public AsyncDLock produceAsync(String lockKey) {
+        return new AsyncRedisDistributedLock(this.produceReactive(lockKey));
+    }
+
+    /**
+     * Produce a reactive lock. It is owned by the lock object rather than the current thread,
+     * so every call gets a new owner.
+     *
+     * @param lockKey lock key
+     * @return reactive lock
+     */
+    public ReactiveDLock produceReactive(String lockKey) {
+        ReactiveRedisDistributedLock lock = new ReactiveRedisDistributedLock(this.getReactiveRedisTemplate(), lockKey
+                , UUID.randomUUID().toString());
+        lock.setLockConfig(lockConfig);
+        lock.setSubscriber(this.getSubscriber());
         return lock;
     }
 
     public void setLockConfig(DLockConfig lockConfig) {
         this.lockConfig = lockConfig;
+        this.combinedObserver = null;
+    }
+
+    /**
+     * Observe the blocking locks produced from now on, and the lease renewals.
+     *
+     * @param lockObserver lock observer
+     */
+    public void setLockObserver(LockObserver lockObserver) {
+        this.lockObserver = lockObserver;
+        this.combinedObserver = null;
+        if (renewalScheduler != null) {
+            renewalScheduler.setLockObserver(this.getLockObserver());
+        }
+    }
+
+    /**
+     * The lease for a lock of the key taken without one: adapted to the hold durations seen for
+     * the key pattern if adaptive lease is enabled, otherwise the max adaptive lease.
+     *
+     * @param lockKey lock key
+     * @return lease millis
+     */
+    public long leaseMillisTime(String lockKey) {
+        AdaptiveLease lease = this.getAdaptiveLease();
+        return lease == null ? lockConfig.getAdaptiveLeaseMaxMillis() : lease.leaseMillisTime(lockKey);
+    }
+
+    /**
+     * The profiler of the contended lock keys, created on first use if enabled.
+     *
+     * @return contention profiler, null if not enabled
+     */
+    public ContentionProfiler getContentionProfiler() {
+        if (!lockConfig.isEnableContentionProfiler()) {
+            return null;
+        }
+        if (contentionProfiler == null) {
+            synchronized (this) {
+                if (contentionProfiler == null) {
+                    contentionProfiler = new ContentionProfiler(lockConfig.getContentionProfilerCapacity(),
+                            lockConfig.getContentionProfilerSampleRate());
+                }
+            }
+        }
+        return contentionProfiler;
+    }
+
+    public void setReactiveRedisTemplate(ReactiveStringRedisTemplate reactiveRedisTemplate) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+    }
+
+    /**
+     * Release the resources held by the factory.
+     */
+    public void shutdown() {
+        if (subscriber != null) {
+            subscriber.shutdown();
+        }
+        if (renewalScheduler != null) {
+            renewalScheduler.shutdown();
+        }
+    }
+
+    /**
+     * The token of the current thread, the locks it produces are reentrant for it.
+     */
+    private String currentToken() {
+        long threadId = LockHolds.currentThreadId();
+        int index = (int) (threadId ^ (threadId >>> 32)) & (TOKEN_CACHE_SIZE - 1);
+        ThreadToken cached = tokens[index];
+        if (cached != null && cached.threadId == threadId) {
+            return cached.token;
+        }
+        // racy but safe, the entries are immutable and a lost update only costs a miss.
+        cached = new ThreadToken(threadId, factoryId + ":" + threadId);
+        tokens[index] = cached;
+        return cached.token;
+    }
+
+    /**
+     * The lock release subscriber, created on first use if subscribe is enabled.
+     */
+    private LockSubscriber getSubscriber() {
+        if (!lockConfig.isEnableSubscribe()) {
+            return null;
+        }
+        if (subscriber == null) {
+            synchronized (this) {
+                if (subscriber == null) {
+                    subscriber = new LockSubscriber(redisTemplate.getRequiredConnectionFactory());
+                }
+            }
+        }
+        return subscriber;
+    }
+
+    /**
+     * The lease renewal engine, created on first use if renewal is enabled.
+     */
+    private RenewalScheduler getRenewalScheduler() {
+        if (!lockConfig.isEnableRenewal()) {
+            return null;
+        }
+        if (renewalScheduler == null) {
+            synchronized (this) {
+                if (renewalScheduler == null) {
+                    renewalScheduler = new RenewalScheduler(redisTemplate, lockConfig);
+                    renewalScheduler.setLockObserver(this.getLockObserver());
+                }
+            }
+        }
+        return renewalScheduler;
+    }
+
+    /**
+     * The adaptive lease, created on first use if enabled.
+     */
+    private AdaptiveLease getAdaptiveLease() {
+        if (!lockConfig.isEnableAdaptiveLease()) {
+            return null;
+        }
+        if (adaptiveLease == null) {
+            synchronized (this) {
+                if (adaptiveLease == null) {
+                    adaptiveLease = new AdaptiveLease(lockConfig);
+                }
+            }
+        }
+        return adaptiveLease;
+    }
+
+    /**
+     * The observer given along with the contention profiler and the adaptive lease, null if none.
+     */
+    private LockObserver getLockObserver() {
+        LockObserver observer = combinedObserver;
+        if (observer == null) {
+            observer = CompositeLockObserver.of(CompositeLockObserver.of(lockObserver, this.getContentionProfiler()),
+                    this.getAdaptiveLease());
+            combinedObserver = observer;
+        }
+        return observer;
+    }
+
+    /**
+     * The runner of the lock scripts on the configured backend, created on first use.
+     */
+    private ScriptRunner getScriptRunner() {
+        if (scriptRunner == null) {
+            synchronized (this) {
+                if (scriptRunner == null) {
+                    scriptRunner = ScriptRegistry.runner(redisTemplate, lockConfig.getScriptBackend());
+                }
+            }
+        }
+        return scriptRunner;
+    }
+
+    /**
+     * The reactive template given, or the one sharing the connection factory of the redis template.
+     * Async and reactive locks need a non-blocking driver such as lettuce.
+     */
+    private ReactiveStringRedisTemplate getReactiveRedisTemplate() {
+        if (reactiveRedisTemplate == null) {
+            synchronized (this) {
+                if (reactiveRedisTemplate == null) {
+                    RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+                    if (!(connectionFactory instanceof ReactiveRedisConnectionFactory)) {
+                        throw new DLockException("reactive lock needs a reactive redis connection factory, such as lettuce.");
+                    }
+                    reactiveRedisTemplate = new ReactiveStringRedisTemplate((ReactiveRedisConnectionFactory) connectionFactory);
+                }
+            }
+        }
+        return reactiveRedisTemplate;
+    }
+
+    private static final class ThreadToken {
+
+        private final long threadId;
+        private final String token;
+
+        private ThreadToken(long threadId, String token) {
+            this.threadId = threadId;
+            this.token = token;
+        }
     }
 }
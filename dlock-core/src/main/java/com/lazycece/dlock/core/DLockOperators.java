@@ -0,0 +1,93 @@
+/*
+ *    Copyright 2025 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core;
+
+import com.lazycece.dlock.core.exception.DLockTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactive counterpart of {@link DLockUtils}, runs the publisher while holding the lock. The lock
+ * is released once the publisher completes, errors or is cancelled.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class DLockOperators {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DLockOperators.class);
+
+    public static <T> Mono<T> withLock(String lockKey, long leaseTime, TimeUnit leaseTimeUnit, Mono<T> mono) {
+        return Mono.defer(() -> {
+            ReactiveDLock lock = DLockFactory.getInstance().produceReactive(lockKey);
+            return Mono.usingWhen(lock.tryLock(leaseTime, leaseTimeUnit).flatMap(locked -> acquired(lock, locked)),
+                    locked -> mono,
+                    locked -> unlock(lockKey, locked),
+                    (locked, e) -> unlock(lockKey, locked),
+                    locked -> unlock(lockKey, locked));
+        });
+    }
+
+    public static <T> Mono<T> withLock(String lockKey, long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit, Mono<T> mono) {
+        return Mono.defer(() -> {
+            ReactiveDLock lock = DLockFactory.getInstance().produceReactive(lockKey);
+            return Mono.usingWhen(lock.tryLock(waitMillisTime, leaseTime, leaseTimeUnit).flatMap(locked -> acquired(lock, locked)),
+                    locked -> mono,
+                    locked -> unlock(lockKey, locked),
+                    (locked, e) -> unlock(lockKey, locked),
+                    locked -> unlock(lockKey, locked));
+        });
+    }
+
+    public static <T> Flux<T> withLock(String lockKey, long leaseTime, TimeUnit leaseTimeUnit, Flux<T> flux) {
+        return Flux.defer(() -> {
+            ReactiveDLock lock = DLockFactory.getInstance().produceReactive(lockKey);
+            return Flux.usingWhen(lock.tryLock(leaseTime, leaseTimeUnit).flatMap(locked -> acquired(lock, locked)),
+                    locked -> flux,
+                    locked -> unlock(lockKey, locked),
+                    (locked, e) -> unlock(lockKey, locked),
+                    locked -> unlock(lockKey, locked));
+        });
+    }
+
+    public static <T> Flux<T> withLock(String lockKey, long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit, Flux<T> flux) {
+        return Flux.defer(() -> {
+            ReactiveDLock lock = DLockFactory.getInstance().produceReactive(lockKey);
+            return Flux.usingWhen(lock.tryLock(waitMillisTime, leaseTime, leaseTimeUnit).flatMap(locked -> acquired(lock, locked)),
+                    locked -> flux,
+                    locked -> unlock(lockKey, locked),
+                    (locked, e) -> unlock(lockKey, locked),
+                    locked -> unlock(lockKey, locked));
+        });
+    }
+
+    private static Mono<ReactiveDLock> acquired(ReactiveDLock lock, boolean locked) {
+        return locked ? Mono.just(lock) : Mono.error(new DLockTimeoutException("try lock timeout!"));
+    }
+
+    private static Mono<Void> unlock(String lockKey, ReactiveDLock lock) {
+        return lock.unlock().onErrorResume(e -> {
+            LOGGER.error("unlock error, lockKey = {}", lockKey, e);
+            return Mono.empty();
+        });
+    }
+
+}
@@ -16,12 +16,17 @@
 
 package com.lazycece.dlock.core;
 
+import com.lazycece.dlock.core.exception.DLockException;
 import com.lazycece.dlock.core.exception.DLockTimeoutException;
 import com.lazycece.dlock.core.function.Answer;
+import com.lazycece.dlock.core.function.AsyncAnswer;
+import com.lazycece.dlock.core.function.FencedAnswer;
 import com.lazycece.dlock.core.function.Handler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,6 +37,13 @@ public class DLockUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DLockUtils.class);
 
+    /**
+     * Lock with the lease picked by the factory, see {@link DLockFactory#leaseMillisTime(String)}.
+     */
+    public static void tryLock(String lockKey, Handler handler) {
+        tryLock(lockKey, DLockFactory.getInstance().leaseMillisTime(lockKey), TimeUnit.MILLISECONDS, handler);
+    }
+
     public static void tryLock(String lockKey, long leaseTime, TimeUnit leaseTimeUnit, Handler handler) {
         DLock lock = DLockFactory.getInstance().produce(lockKey);
         if (lock.tryLock(leaseTime, leaseTimeUnit)) {
@@ -66,6 +78,13 @@ public class DLockUtils {
         }
     }
 
+    /**
+     * Lock with the lease picked by the factory, see {@link DLockFactory#leaseMillisTime(String)}.
+     */
+    public static <T> T tryLock(String lockKey, Answer<T> answer) {
+        return tryLock(lockKey, DLockFactory.getInstance().leaseMillisTime(lockKey), TimeUnit.MILLISECONDS, answer);
+    }
+
     public static <T> T tryLock(String lockKey, long leaseTime, TimeUnit leaseTimeUnit, Answer<T> answer) {
         DLock lock = DLockFactory.getInstance().produce(lockKey);
         if (lock.tryLock(leaseTime, leaseTimeUnit)) {
@@ -100,4 +119,79 @@ public class DLockUtils {
         }
     }
 
+    public static <T> T tryLock(String lockKey, long leaseTime, TimeUnit leaseTimeUnit, FencedAnswer<T> answer) {
+        DLock lock = DLockFactory.getInstance().produce(lockKey);
+        if (lock.tryLock(leaseTime, leaseTimeUnit)) {
+            return replyAndUnlock(lockKey, lock, answer);
+        } else {
+            throw new DLockTimeoutException("try lock timeout!");
+        }
+    }
+
+    public static <T> T tryLock(String lockKey, long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit, FencedAnswer<T> answer) {
+        DLock lock = DLockFactory.getInstance().produce(lockKey);
+        if (lock.tryLock(waitMillisTime, leaseTime, leaseTimeUnit)) {
+            return replyAndUnlock(lockKey, lock, answer);
+        } else {
+            throw new DLockTimeoutException("try lock timeout!");
+        }
+    }
+
+    public static <T> CompletionStage<T> tryLockAsync(String lockKey, long leaseTime, TimeUnit leaseTimeUnit, AsyncAnswer<T> answer) {
+        AsyncDLock lock = DLockFactory.getInstance().produceAsync(lockKey);
+        return lock.tryLockAsync(leaseTime, leaseTimeUnit)
+                .thenCompose(locked -> replyAndUnlock(lockKey, lock, locked, answer));
+    }
+
+    public static <T> CompletionStage<T> tryLockAsync(String lockKey, long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit, AsyncAnswer<T> answer) {
+        AsyncDLock lock = DLockFactory.getInstance().produceAsync(lockKey);
+        return lock.tryLockAsync(waitMillisTime, leaseTime, leaseTimeUnit)
+                .thenCompose(locked -> replyAndUnlock(lockKey, lock, locked, answer));
+    }
+
+    private static <T> T replyAndUnlock(String lockKey, DLock lock, FencedAnswer<T> answer) {
+        try {
+            if (lock.getFencingToken() <= 0) {
+                throw new DLockException("fencing is not enabled, no fencing token is issued.");
+            }
+            return answer.reply(lock.getFencingToken());
+        } finally {
+            try {
+                lock.unlock();
+            } catch (Exception e) {
+                LOGGER.error("unlock error, lockKey = {}", lockKey, e);
+            }
+        }
+    }
+
+    private static <T> CompletionStage<T> replyAndUnlock(String lockKey, AsyncDLock lock, boolean locked, AsyncAnswer<T> answer) {
+        if (!locked) {
+            return CompletableFuture.failedFuture(new DLockTimeoutException("try lock timeout!"));
+        }
+
+        CompletionStage<T> reply;
+        try {
+            reply = answer.reply();
+        } catch (Exception e) {
+            reply = CompletableFuture.failedFuture(e);
+        }
+        if (reply == null) {
+            // still unlock, and fail the caller instead of throwing before the unlock is registered.
+            reply = CompletableFuture.failedFuture(new DLockException("the answer returned no completion stage."));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        reply.whenComplete((value, error) -> lock.unlockAsync().whenComplete((v, e) -> {
+            if (e != null) {
+                LOGGER.error("unlock error, lockKey = {}", lockKey, e);
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }));
+        return result;
+    }
+
 }
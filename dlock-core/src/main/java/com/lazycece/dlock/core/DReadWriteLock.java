@@ -0,0 +1,42 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core;
+
+/**
+ * Distributed read-write lock. Many readers may hold the read lock at once, while the write
+ * lock is exclusive. The owner of the write lock may also take the read lock, and keeps it
+ * after releasing the write lock (downgrade), but a reader can not take the write lock.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public interface DReadWriteLock {
+
+    /**
+     * The shared lock for reading.
+     *
+     * @return read lock
+     */
+    DLock readLock();
+
+    /**
+     * The exclusive lock for writing.
+     *
+     * @return write lock
+     */
+    DLock writeLock();
+
+}
@@ -0,0 +1,62 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distributed semaphore, at most the given number of permits are held across the cluster
+ * at once. The permits are leased, so those of a dead holder come back once the lease expires.
+ * The permits are owned by the semaphore object rather than a thread.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public interface DSemaphore {
+
+    /**
+     * try acquire one permit using default wait time
+     *
+     * @param leaseTime     lease time.
+     * @param leaseTimeUnit time unit
+     * @return acquire result
+     */
+    boolean tryAcquire(long leaseTime, TimeUnit leaseTimeUnit);
+
+    /**
+     * try acquire permits
+     *
+     * @param permits        number of permits.
+     * @param waitMillisTime wait time while trying.
+     * @param leaseTime      lease time
+     * @param leaseTimeUnit  lease time unit
+     * @return acquire result
+     */
+    boolean tryAcquire(int permits, long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit);
+
+    /**
+     * Releases all the permits acquired.
+     */
+    void release();
+
+    /**
+     * Number of permits held by this semaphore.
+     *
+     * @return result
+     */
+    int getHeldPermits();
+
+}
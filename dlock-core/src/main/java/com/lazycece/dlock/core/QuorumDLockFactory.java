@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core;
+
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.model.QuorumDLock;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of quorum locks over independent redis nodes, i.e. not replicas of one another, so
+ * that a lock survives the failover of any minority of them.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class QuorumDLockFactory {
+
+    private final List<StringRedisTemplate> nodes;
+    /**
+     * calls the nodes in parallel.
+     */
+    private final ExecutorService executor;
+    private DLockConfig lockConfig = new DLockConfig();
+
+    public QuorumDLockFactory(List<StringRedisTemplate> nodes) {
+        if (nodes == null || nodes.size() < 3) {
+            throw new IllegalArgumentException("quorum lock needs at least 3 independent redis nodes");
+        }
+        this.nodes = List.copyOf(nodes);
+        AtomicInteger index = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "dlock-quorum-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Produce a quorum lock. It is owned by the lock object rather than the current thread,
+     * so every call gets a new owner.
+     *
+     * @param lockKey lock key
+     * @return quorum lock
+     */
+    public QuorumDLock produce(String lockKey) {
+        QuorumDLock lock = new QuorumDLock(nodes, lockKey, UUID.randomUUID().toString(), executor);
+        lock.setLockConfig(lockConfig);
+        return lock;
+    }
+
+    public void setLockConfig(DLockConfig lockConfig) {
+        this.lockConfig = lockConfig;
+    }
+
+    /**
+     * Release the resources held by the factory.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.cluster;
+
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+/**
+ * Key helpers for redis cluster. The keys a script touches must live in one hash slot, so the
+ * keys kept alongside a lock (queues, permits) carry the lock key's hash tag.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public final class ClusterKeys {
+
+    private ClusterKeys() {
+    }
+
+    /**
+     * Format the key with a hash tag, e.g. {@code {tenant}:order:1}, so that all the keys of a tag
+     * share one slot and may be locked together by a multi lock.
+     *
+     * @param tag hash tag
+     * @param key key
+     * @return tagged key
+     */
+    public static String withHashTag(String tag, String key) {
+        return "{" + tag + "}:" + key;
+    }
+
+    /**
+     * The part of the key that is hashed to the slot, the hash tag if any, otherwise the whole key.
+     *
+     * @param key key
+     * @return hashed part
+     */
+    public static String hashTag(String key) {
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                return key.substring(start + 1, end);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * A key kept alongside the lock key, in the same slot as the lock key.
+     *
+     * @param prefix  prefix of the related key
+     * @param lockKey lock key
+     * @return related key
+     */
+    public static String related(String prefix, String lockKey) {
+        String tag = hashTag(lockKey);
+        // a tagged lock key shares its tag with others, keep the whole key to stay unique.
+        return tag.length() == lockKey.length() ? prefix + "{" + lockKey + "}" : prefix + "{" + tag + "}:" + lockKey;
+    }
+
+    /**
+     * The hash slot of the key.
+     *
+     * @param key key
+     * @return slot
+     */
+    public static int slot(String key) {
+        return ClusterSlotHashUtil.calculateSlot(key);
+    }
+}
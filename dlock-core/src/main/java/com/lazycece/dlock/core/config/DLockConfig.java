@@ -16,6 +16,8 @@
 
 package com.lazycece.dlock.core.config;
 
+import com.lazycece.dlock.core.script.ScriptBackend;
+
 /**
  * @author lazycece
  * @date 2025/4/20
@@ -32,6 +34,13 @@ public class DLockConfig {
      */
     private long trySleepMillis = 100;
 
+    /**
+     * The delay between attempts while trying lock, a fixed {@code trySleepMillis} if not given.
+     *
+     * @see RetryStrategy
+     */
+    private RetryStrategy retryStrategy;
+
     /**
      * Whether to enable the renewal capability.
      */
@@ -42,6 +51,123 @@ public class DLockConfig {
      */
     private long renewalThreshold = 3000;
 
+    /**
+     * Thread count of the renewal engine shared by all the locks, default value is 1.
+     */
+    private int renewalPoolSize = 1;
+
+    /**
+     * Whether to renew all the held leases through one batched script call per tick.
+     */
+    private boolean enableBatchRenewal = false;
+
+    /**
+     * The tick of the batch renewal, default value is 500 milliseconds. It should be less than a third of the renewal threshold.
+     */
+    private long renewalTickMillis = 500;
+
+    /**
+     * Whether to run the renewal engine on virtual threads, java 21+ only, platform threads are used otherwise.
+     */
+    private boolean enableVirtualThreads = false;
+
+    /**
+     * Whether to wait for the lock release notification (redis pub/sub) while trying lock,
+     * polling with {@code trySleepMillis} is used only if disabled.
+     */
+    private boolean enableSubscribe = true;
+
+    /**
+     * Whether to let only one local thread per lock key contend on redis, the others wait in FIFO order in the JVM.
+     */
+    private boolean enableLocalGate = false;
+
+    /**
+     * Whether the locks produced issue fencing tokens, a counter per lock key is kept in redis for it.
+     */
+    private boolean enableFencing = false;
+
+    /**
+     * How long the fence counter of a lock key is kept after its last increment, in millis. Once it
+     * expires the tokens of the key start over from 1, so it must outlast the longest hold and the time
+     * the downstream storage remembers the highest token seen.
+     */
+    private long fenceTtlMillis = 7 * 24 * 60 * 60 * 1000L;
+
+    /**
+     * How long a fair lock waiter keeps its place in the queue without retrying, in millis.
+     */
+    private long fairQueueTimeoutMillis = 5000;
+
+    /**
+     * Whether redis runs in cluster mode, batched renewals are then split by hash slot and multi lock
+     * keys must share one slot.
+     */
+    private boolean enableCluster = false;
+
+    /**
+     * How the lock scripts are run, {@link ScriptBackend#FUNCTION} needs redis 7+ and lettuce.
+     */
+    private ScriptBackend scriptBackend = ScriptBackend.LUA;
+
+    /**
+     * Max wait for the nodes of a quorum lock to answer one attempt, in millis, kept well below the lease.
+     */
+    private long quorumNodeTimeoutMillis = 100;
+
+    /**
+     * Clock drift between the quorum lock nodes, as a factor of the lease time.
+     */
+    private double quorumClockDriftFactor = 0.01;
+
+    /**
+     * Whether to profile the contended lock keys, see {@link com.lazycece.dlock.core.observe.ContentionProfiler}.
+     */
+    private boolean enableContentionProfiler = false;
+
+    /**
+     * Max lock keys tracked by the contention profiler, its memory is bounded by it.
+     */
+    private int contentionProfilerCapacity = 1024;
+
+    /**
+     * Share of the contended acquires recorded by the contention profiler, in (0, 1].
+     */
+    private double contentionProfilerSampleRate = 1;
+
+    /**
+     * Whether the locks taken without a lease get one picked from the hold durations seen, see
+     * {@link com.lazycece.dlock.core.renewal.AdaptiveLease}.
+     */
+    private boolean enableAdaptiveLease = false;
+
+    /**
+     * The percentile of the hold durations an adaptive lease is based on.
+     */
+    private double adaptiveLeasePercentile = 0.99;
+
+    /**
+     * The adaptive lease is the percentile times this factor, 3 keeps the holds up to the percentile
+     * from any renewal.
+     */
+    private double adaptiveLeaseFactor = 3;
+
+    /**
+     * The hold durations of a key pattern needed before its lease is adapted.
+     */
+    private long adaptiveLeaseMinSamples = 100;
+
+    /**
+     * Max distinct key patterns whose hold durations are recorded, the keys of further patterns get
+     * the max lease. Bounds the memory of the adaptive lease.
+     */
+    private int adaptiveLeaseMaxKeyPatterns = 1000;
+
+    /**
+     * The max adaptive lease in millis, also the lease before enough holds are seen or if adaptive lease is off.
+     */
+    private long adaptiveLeaseMaxMillis = 60000;
+
     public long getDefaultWaitMillisTime() {
         return defaultWaitMillisTime;
     }
@@ -58,6 +184,29 @@ public class DLockConfig {
         this.trySleepMillis = trySleepMillis;
     }
 
+    public RetryStrategy getRetryStrategy() {
+        return retryStrategy;
+    }
+
+    public void setRetryStrategy(RetryStrategy retryStrategy) {
+        this.retryStrategy = retryStrategy;
+    }
+
+    /**
+     * The delay before the next attempt while trying lock.
+     *
+     * @param attempt             failed attempts so far, starting from 1
+     * @param previousDelayMillis delay before the last attempt, 0 for the first attempt
+     * @param remainingMillis     wait time left
+     * @return delay millis, at least 1
+     */
+    public long nextRetryDelayMillis(int attempt, long previousDelayMillis, long remainingMillis) {
+        long delay = retryStrategy == null ? trySleepMillis
+                : retryStrategy.nextDelayMillis(attempt, previousDelayMillis, remainingMillis);
+        // never spin on redis, whatever the strategy gives.
+        return Math.max(delay, 1);
+    }
+
     public boolean isEnableRenewal() {
         return enableRenewal;
     }
@@ -73,4 +222,180 @@ public class DLockConfig {
     public void setRenewalThreshold(long renewalThreshold) {
         this.renewalThreshold = renewalThreshold;
     }
+
+    public int getRenewalPoolSize() {
+        return renewalPoolSize;
+    }
+
+    public void setRenewalPoolSize(int renewalPoolSize) {
+        this.renewalPoolSize = renewalPoolSize;
+    }
+
+    public boolean isEnableBatchRenewal() {
+        return enableBatchRenewal;
+    }
+
+    public void setEnableBatchRenewal(boolean enableBatchRenewal) {
+        this.enableBatchRenewal = enableBatchRenewal;
+    }
+
+    public long getRenewalTickMillis() {
+        return renewalTickMillis;
+    }
+
+    public void setRenewalTickMillis(long renewalTickMillis) {
+        this.renewalTickMillis = renewalTickMillis;
+    }
+
+    public boolean isEnableVirtualThreads() {
+        return enableVirtualThreads;
+    }
+
+    public void setEnableVirtualThreads(boolean enableVirtualThreads) {
+        this.enableVirtualThreads = enableVirtualThreads;
+    }
+
+    public boolean isEnableSubscribe() {
+        return enableSubscribe;
+    }
+
+    public void setEnableSubscribe(boolean enableSubscribe) {
+        this.enableSubscribe = enableSubscribe;
+    }
+
+    public boolean isEnableLocalGate() {
+        return enableLocalGate;
+    }
+
+    public void setEnableLocalGate(boolean enableLocalGate) {
+        this.enableLocalGate = enableLocalGate;
+    }
+
+    public long getFairQueueTimeoutMillis() {
+        return fairQueueTimeoutMillis;
+    }
+
+    public void setFairQueueTimeoutMillis(long fairQueueTimeoutMillis) {
+        this.fairQueueTimeoutMillis = fairQueueTimeoutMillis;
+    }
+
+    public boolean isEnableCluster() {
+        return enableCluster;
+    }
+
+    public void setEnableCluster(boolean enableCluster) {
+        this.enableCluster = enableCluster;
+    }
+
+    public long getQuorumNodeTimeoutMillis() {
+        return quorumNodeTimeoutMillis;
+    }
+
+    public void setQuorumNodeTimeoutMillis(long quorumNodeTimeoutMillis) {
+        this.quorumNodeTimeoutMillis = quorumNodeTimeoutMillis;
+    }
+
+    public double getQuorumClockDriftFactor() {
+        return quorumClockDriftFactor;
+    }
+
+    public void setQuorumClockDriftFactor(double quorumClockDriftFactor) {
+        this.quorumClockDriftFactor = quorumClockDriftFactor;
+    }
+
+    public boolean isEnableContentionProfiler() {
+        return enableContentionProfiler;
+    }
+
+    public void setEnableContentionProfiler(boolean enableContentionProfiler) {
+        this.enableContentionProfiler = enableContentionProfiler;
+    }
+
+    public int getContentionProfilerCapacity() {
+        return contentionProfilerCapacity;
+    }
+
+    public void setContentionProfilerCapacity(int contentionProfilerCapacity) {
+        this.contentionProfilerCapacity = contentionProfilerCapacity;
+    }
+
+    public double getContentionProfilerSampleRate() {
+        return contentionProfilerSampleRate;
+    }
+
+    public void setContentionProfilerSampleRate(double contentionProfilerSampleRate) {
+        this.contentionProfilerSampleRate = contentionProfilerSampleRate;
+    }
+
+    public boolean isEnableAdaptiveLease() {
+        return enableAdaptiveLease;
+    }
+
+    public void setEnableAdaptiveLease(boolean enableAdaptiveLease) {
+        this.enableAdaptiveLease = enableAdaptiveLease;
+    }
+
+    public double getAdaptiveLeasePercentile() {
+        return adaptiveLeasePercentile;
+    }
+
+    public void setAdaptiveLeasePercentile(double adaptiveLeasePercentile) {
+        this.adaptiveLeasePercentile = adaptiveLeasePercentile;
+    }
+
+    public double getAdaptiveLeaseFactor() {
+        return adaptiveLeaseFactor;
+    }
+
+    public void setAdaptiveLeaseFactor(double adaptiveLeaseFactor) {
+        this.adaptiveLeaseFactor = adaptiveLeaseFactor;
+    }
+
+    public long getAdaptiveLeaseMinSamples() {
+        return adaptiveLeaseMinSamples;
+    }
+
+    public void setAdaptiveLeaseMinSamples(long adaptiveLeaseMinSamples) {
+        this.adaptiveLeaseMinSamples = adaptiveLeaseMinSamples;
+    }
+
+    public int getAdaptiveLeaseMaxKeyPatterns() {
+        return adaptiveLeaseMaxKeyPatterns;
+    }
+
+    public void setAdaptiveLeaseMaxKeyPatterns(int adaptiveLeaseMaxKeyPatterns) {
+        this.adaptiveLeaseMaxKeyPatterns = adaptiveLeaseMaxKeyPatterns;
+    }
+
+    public long getAdaptiveLeaseMaxMillis() {
+        return adaptiveLeaseMaxMillis;
+    }
+
+    public void setAdaptiveLeaseMaxMillis(long adaptiveLeaseMaxMillis) {
+        this.adaptiveLeaseMaxMillis = adaptiveLeaseMaxMillis;
+    }
+
+    public boolean isEnableFencing() {
+        return enableFencing;
+    }
+
+    public void setEnableFencing(boolean enableFencing) {
+        this.enableFencing = enableFencing;
+    }
+
+    public long getFenceTtlMillis() {
+        return fenceTtlMillis;
+    }
+
+    public void setFenceTtlMillis(long fenceTtlMillis) {
+        this.fenceTtlMillis = fenceTtlMillis;
+    }
+
+    public ScriptBackend getScriptBackend() {
+        return scriptBackend;
+    }
+
+    public void setScriptBackend(ScriptBackend scriptBackend) {
+        this.scriptBackend = scriptBackend;
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.config;
+
+/**
+ * Never waits beyond the wait time left, so that the last attempt is made right at the deadline
+ * rather than giving up after oversleeping it.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class DeadlineAwareRetryStrategy implements RetryStrategy {
+
+    private final RetryStrategy delegate;
+
+    public DeadlineAwareRetryStrategy(RetryStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public long nextDelayMillis(int attempt, long previousDelayMillis, long remainingMillis) {
+        return Math.min(delegate.nextDelayMillis(attempt, previousDelayMillis, remainingMillis), remainingMillis);
+    }
+}
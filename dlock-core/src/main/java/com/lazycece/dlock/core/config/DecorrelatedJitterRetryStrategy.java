@@ -0,0 +1,48 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decorrelated jitter, the delay is random between the base delay and three times the previous
+ * delay, capped by the max delay. Spreads the waiters of a hot key rather than retrying in lockstep.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class DecorrelatedJitterRetryStrategy implements RetryStrategy {
+
+    private final long baseMillis;
+    private final long maxMillis;
+
+    public DecorrelatedJitterRetryStrategy(long baseMillis, long maxMillis) {
+        if (baseMillis < 1) {
+            throw new IllegalArgumentException("retry base millis must be at least 1");
+        }
+        if (maxMillis < baseMillis) {
+            throw new IllegalArgumentException("retry max millis must not be less than the base millis");
+        }
+        this.baseMillis = baseMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    @Override
+    public long nextDelayMillis(int attempt, long previousDelayMillis, long remainingMillis) {
+        long upper = Math.max(previousDelayMillis, baseMillis) * 3;
+        return Math.min(maxMillis, ThreadLocalRandom.current().nextLong(baseMillis, upper + 1));
+    }
+}
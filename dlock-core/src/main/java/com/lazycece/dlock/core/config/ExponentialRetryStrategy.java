@@ -0,0 +1,52 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.config;
+
+/**
+ * Delay grows by the multiplier after every attempt, from the base delay up to the max delay.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class ExponentialRetryStrategy implements RetryStrategy {
+
+    private final long baseMillis;
+    private final long maxMillis;
+    private final double multiplier;
+
+    public ExponentialRetryStrategy(long baseMillis, long maxMillis, double multiplier) {
+        if (baseMillis < 1) {
+            throw new IllegalArgumentException("retry base millis must be at least 1");
+        }
+        if (maxMillis < baseMillis) {
+            throw new IllegalArgumentException("retry max millis must not be less than the base millis");
+        }
+        if (!(multiplier >= 1)) {
+            throw new IllegalArgumentException("retry multiplier must be at least 1");
+        }
+        this.baseMillis = baseMillis;
+        this.maxMillis = maxMillis;
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public long nextDelayMillis(int attempt, long previousDelayMillis, long remainingMillis) {
+        if (previousDelayMillis <= 0) {
+            return Math.min(baseMillis, maxMillis);
+        }
+        return (long) Math.min(previousDelayMillis * multiplier, maxMillis);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.config;
+
+/**
+ * Same delay between every attempt.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class FixedRetryStrategy implements RetryStrategy {
+
+    private final long delayMillis;
+
+    public FixedRetryStrategy(long delayMillis) {
+        if (delayMillis < 1) {
+            throw new IllegalArgumentException("retry delay millis must be at least 1");
+        }
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public long nextDelayMillis(int attempt, long previousDelayMillis, long remainingMillis) {
+        return delayMillis;
+    }
+}
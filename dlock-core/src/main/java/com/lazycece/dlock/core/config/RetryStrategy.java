@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.config;
+
+/**
+ * Delay between two lock attempts while trying lock, used while polling (subscribe disabled)
+ * or while the lease of the holder is unknown.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ * @see FixedRetryStrategy
+ * @see ExponentialRetryStrategy
+ * @see DecorrelatedJitterRetryStrategy
+ * @see DeadlineAwareRetryStrategy
+ */
+public interface RetryStrategy {
+
+    /**
+     * The delay before the next attempt.
+     *
+     * @param attempt             failed attempts so far, starting from 1
+     * @param previousDelayMillis delay before the last attempt, 0 for the first attempt
+     * @param remainingMillis     wait time left
+     * @return delay millis
+     */
+    long nextDelayMillis(int attempt, long previousDelayMillis, long remainingMillis);
+}
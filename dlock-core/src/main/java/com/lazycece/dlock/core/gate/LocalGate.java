@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.gate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM gate in front of the redis lock. Only the head-of-line local thread of a lock key
+ * contends on redis, the others park locally and are handed the gate in FIFO order. The gate
+ * is not bound to a thread, so a lock may be released by whichever path lets go of it.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class LocalGate {
+
+    private final ConcurrentMap<String, Gate> gates = new ConcurrentHashMap<>();
+
+    /**
+     * Pass the gate of the lock key.
+     *
+     * @param lockKey       lock key
+     * @param timeoutMillis max wait time
+     * @return the gate passed, must be handed back with {@link #exit(String, Gate)}; null if timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Gate enter(String lockKey, long timeoutMillis) throws InterruptedException {
+        Gate gate = gates.compute(lockKey, (key, current) -> {
+            if (current == null) {
+                current = new Gate();
+            }
+            current.users++;
+            return current;
+        });
+        boolean entered = false;
+        try {
+            entered = gate.permit.tryAcquire(Math.max(timeoutMillis, 0), TimeUnit.MILLISECONDS);
+        } finally {
+            if (!entered) {
+                this.release(lockKey, gate);
+            }
+        }
+        return entered ? gate : null;
+    }
+
+    /**
+     * Leave the gate, the next local waiter of the lock key is let in.
+     *
+     * @param lockKey lock key
+     * @param gate    the gate returned by {@link #enter(String, long)}
+     */
+    public void exit(String lockKey, Gate gate) {
+        gate.permit.release();
+        this.release(lockKey, gate);
+    }
+
+    private void release(String lockKey, Gate gate) {
+        gates.computeIfPresent(lockKey, (key, current) -> {
+            if (current != gate) {
+                return current;
+            }
+            return --current.users == 0 ? null : current;
+        });
+    }
+
+    /**
+     * The gate of one lock key.
+     */
+    public static class Gate {
+
+        private final Semaphore permit = new Semaphore(1, true);
+        private int users;
+    }
+}
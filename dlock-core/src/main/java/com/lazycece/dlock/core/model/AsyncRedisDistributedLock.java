@@ -0,0 +1,60 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.AsyncDLock;
+import com.lazycece.dlock.core.ReactiveDLock;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The non-blocking redis lock, a future view of the reactive lock which runs the lock
+ * scripts on the lettuce reactive commands and waits between attempts on timers rather
+ * than sleeping threads.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class AsyncRedisDistributedLock implements AsyncDLock {
+
+    private final ReactiveDLock reactiveLock;
+
+    public AsyncRedisDistributedLock(ReactiveDLock reactiveLock) {
+        this.reactiveLock = reactiveLock;
+    }
+
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(long leaseTime, TimeUnit leaseTimeUnit) {
+        return reactiveLock.tryLock(leaseTime, leaseTimeUnit).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit) {
+        return reactiveLock.tryLock(waitMillisTime, leaseTime, leaseTimeUnit).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Void> unlockAsync() {
+        return reactiveLock.unlock().toFuture();
+    }
+
+    @Override
+    public boolean isLocked() {
+        return reactiveLock.isLocked();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.cluster.ClusterKeys;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fair lock, the waiters are granted the lock in the order they first tried it. Waiters queue
+ * up in redis, and a release only wakes up the first one in the queue. A waiter that stops
+ * retrying for longer than the queue timeout is dropped from the queue.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class FairRedisDistributedLock extends RedisDistributedLock {
+
+    private static final Logger log = LoggerFactory.getLogger(FairRedisDistributedLock.class);
+
+    /**
+     * lock key, waiters queue and waiters timeout, the latter two in the lock key's slot.
+     */
+    private final List<String> keys;
+
+    public FairRedisDistributedLock(StringRedisTemplate redisTemplate, String lockKey, String token, LockHolds holds) {
+        super(redisTemplate, lockKey, token, holds);
+        this.keys = Arrays.asList(lockKey, ClusterKeys.related("dlock:queue:", lockKey), ClusterKeys.related("dlock:timeout:", lockKey));
+    }
+
+    @Override
+    protected Long acquire(long leaseMillisTime) {
+        return this.execute(ScriptRegistry.FAIR_LOCK, keys, token, ScriptArgs.millis(leaseMillisTime),
+                ScriptArgs.millis(getLockConfig().getFairQueueTimeoutMillis()), ScriptArgs.now());
+    }
+
+    @Override
+    protected Long release() {
+        return this.execute(ScriptRegistry.FAIR_UNLOCK, keys, token, this.channel(),
+                ScriptArgs.now());
+    }
+
+    /**
+     * Each waiter is notified on its own channel, so a release wakes up the head of the queue only.
+     */
+    @Override
+    protected String waitKey() {
+        return lockKey + ":" + token;
+    }
+
+    @Override
+    protected void cancelAcquire() {
+        try {
+            this.execute(ScriptRegistry.FAIR_CANCEL, keys, token, this.channel(),
+                    ScriptArgs.millis(getLockConfig().getFairQueueTimeoutMillis()));
+        } catch (Exception e) {
+            // left in the queue, dropped once the queue timeout passes.
+            log.warn("leave fair lock queue fail: {}", e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.cluster.ClusterKeys;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lock issuing fencing tokens, every new holder of the lock key gets the next value of a counter
+ * kept beside the lock, and the nested holds share it. The counter is dropped once the fence TTL
+ * passes without a new holder, see {@link com.lazycece.dlock.core.config.DLockConfig#getFenceTtlMillis()}.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class FencedRedisDistributedLock extends RedisDistributedLock {
+
+    /**
+     * lock key and fence counter, the counter in the lock key's slot.
+     */
+    private final List<String> keys;
+
+    public FencedRedisDistributedLock(StringRedisTemplate redisTemplate, String lockKey, String token, LockHolds holds) {
+        super(redisTemplate, lockKey, token, holds);
+        this.keys = Arrays.asList(lockKey, ClusterKeys.related("dlock:fence:", lockKey));
+    }
+
+    @Override
+    protected Long acquire(long leaseMillisTime) {
+        return this.execute(ScriptRegistry.FENCED_LOCK, keys, token, ScriptArgs.millis(leaseMillisTime),
+                ScriptArgs.millis(getLockConfig().getFenceTtlMillis()));
+    }
+
+    @Override
+    public long getFencingToken() {
+        LockHold held = holds.get(lockKey);
+        return held == null || held.isLost() ? 0 : held.getFence();
+    }
+
+}
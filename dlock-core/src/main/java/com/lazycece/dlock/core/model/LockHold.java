@@ -0,0 +1,154 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.gate.LocalGate;
+import com.lazycece.dlock.core.renewal.Lease;
+
+/**
+ * A lock held by the current thread. Only the outermost acquire and release reach redis,
+ * the nested ones only change the local hold count.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class LockHold {
+
+    /**
+     * hold count, only accessed by the owner thread.
+     */
+    private int count = 1;
+    /**
+     * the thread that acquired the hold, the only one that may release it.
+     */
+    private final long ownerThreadId = LockHolds.currentThreadId();
+    private Lease lease;
+    /**
+     * the fencing token issued to this hold, 0 if fencing is off.
+     */
+    private long fence;
+    /**
+     * the local gate passed, kept until the outermost release.
+     */
+    private LocalGate.Gate gate;
+    /**
+     * nano time of the acquire, only set if the lock is observed.
+     */
+    private long acquiredNanos;
+    /**
+     * set by the renewal engine once the lock is found to be owned by others.
+     */
+    private volatile boolean lost = false;
+    /**
+     * nano time the lease runs out at, only set if the lease is not renewed.
+     */
+    private long expireNanos;
+    private boolean expiring;
+    /**
+     * the key of this hold and the next hold of the same thread, see {@link LockHolds}.
+     */
+    private String holdKey;
+    private LockHold next;
+
+    public int getCount() {
+        return count;
+    }
+
+    long getOwnerThreadId() {
+        return ownerThreadId;
+    }
+
+    int increment() {
+        return ++count;
+    }
+
+    int decrement() {
+        return --count;
+    }
+
+    public long getFence() {
+        return fence;
+    }
+
+    void setFence(long fence) {
+        this.fence = fence;
+    }
+
+    Lease getLease() {
+        return lease;
+    }
+
+    void setLease(Lease lease) {
+        this.lease = lease;
+    }
+
+    LocalGate.Gate getGate() {
+        return gate;
+    }
+
+    void setGate(LocalGate.Gate gate) {
+        this.gate = gate;
+    }
+
+    String getHoldKey() {
+        return holdKey;
+    }
+
+    void setHoldKey(String holdKey) {
+        this.holdKey = holdKey;
+    }
+
+    LockHold getNext() {
+        return next;
+    }
+
+    void setNext(LockHold next) {
+        this.next = next;
+    }
+
+    long getAcquiredNanos() {
+        return acquiredNanos;
+    }
+
+    void setAcquiredNanos(long acquiredNanos) {
+        this.acquiredNanos = acquiredNanos;
+    }
+
+    /**
+     * Lost once the renewal engine finds the lock owned by others, or once the lease of a hold
+     * not renewed has run out, as the key may have expired and been locked by others since.
+     *
+     * @return true if lost
+     */
+    public boolean isLost() {
+        return lost || (expiring && System.nanoTime() - expireNanos >= 0);
+    }
+
+    /**
+     * The lease is not renewed, the hold is lost once it runs out.
+     *
+     * @param expireNanos nano time the lease runs out at
+     */
+    void expireAt(long expireNanos) {
+        this.expireNanos = expireNanos;
+        this.expiring = true;
+    }
+
+    void lost() {
+        this.lost = true;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The locks held by each thread, keyed by the thread itself rather than kept in a thread local, so
+ * that many short-lived (virtual) threads leave nothing behind once they release their locks. The
+ * holds of a thread are linked from its entry, as a thread seldom holds more than a few locks at
+ * once, and only the owner thread changes them. The entry is dropped with the last hold.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class LockHolds {
+
+    private final ConcurrentMap<Thread, LockHold> heads = new ConcurrentHashMap<>();
+
+    /**
+     * The hold of the lock key by the current thread.
+     *
+     * @param lockKey lock key
+     * @return hold, null if not held
+     */
+    public LockHold get(String lockKey) {
+        for (LockHold hold = heads.get(Thread.currentThread()); hold != null; hold = hold.getNext()) {
+            if (hold.getHoldKey().equals(lockKey)) {
+                return hold;
+            }
+        }
+        return null;
+    }
+
+    void put(String lockKey, LockHold hold) {
+        // a lost hold of the key is replaced.
+        this.remove(lockKey);
+        Thread thread = Thread.currentThread();
+        hold.setHoldKey(lockKey);
+        hold.setNext(heads.get(thread));
+        heads.put(thread, hold);
+    }
+
+    void remove(String lockKey) {
+        Thread thread = Thread.currentThread();
+        LockHold previous = null;
+        for (LockHold hold = heads.get(thread); hold != null; previous = hold, hold = hold.getNext()) {
+            if (hold.getHoldKey().equals(lockKey)) {
+                if (previous != null) {
+                    previous.setNext(hold.getNext());
+                } else if (hold.getNext() != null) {
+                    heads.put(thread, hold.getNext());
+                } else {
+                    heads.remove(thread);
+                }
+                hold.setNext(null);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Id of the current thread, stable for the life of the thread.
+     *
+     * @return thread id
+     */
+    @SuppressWarnings("deprecation")
+    public static long currentThreadId() {
+        return Thread.currentThread().getId();
+    }
+}
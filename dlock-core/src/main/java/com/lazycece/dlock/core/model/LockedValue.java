@@ -1,50 +0,0 @@
-/*
- *    Copyright 2025 lazycece<lazycece@gmail.com>
- *
- *    Licensed under the Apache License, Version 2.0 (the "License");
- *    you may not use this file except in compliance with the License.
- *    You may obtain a copy of the License at
- *
- *        http://www.apache.org/licenses/LICENSE-2.0
- *
- *    Unless required by applicable law or agreed to in writing, software
- *    distributed under the License is distributed on an "AS IS" BASIS,
- *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- *    See the License for the specific language governing permissions and
- *    limitations under the License.
- */
-
-package com.lazycece.dlock.core.model;
-
-/**
- * @author lazycece
- * @date 2025/4/27
- */
-public class LockedValue {
-
-    private String token;
-    private Integer count;
-
-    public static LockedValue lockedValue(String token, Integer count) {
-        LockedValue value = new LockedValue();
-        value.setToken(token);
-        value.setCount(count);
-        return value;
-    }
-
-    public String getToken() {
-        return token;
-    }
-
-    public void setToken(String token) {
-        this.token = token;
-    }
-
-    public Integer getCount() {
-        return count;
-    }
-
-    public void setCount(Integer count) {
-        this.count = count;
-    }
-}
@@ -0,0 +1,206 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.exception.DLockException;
+import com.lazycece.dlock.core.pubsub.LockSubscriber;
+import com.lazycece.dlock.core.script.LuaScript;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.TimeoutUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Redlock style lock over independent redis nodes. The lock is sent to all the nodes at once, and
+ * is held once a majority of them granted it within the lease left after the elapsed time and the
+ * clock drift. It is released on all the nodes.
+ * <p>
+ * The lock is owned by the lock object rather than a thread, and is not renewed: it is valid until
+ * {@link #getValidUntil()}. The threads sharing the lock object take turns on the attempts, but
+ * not on the waits between them.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class QuorumDLock implements DLock {
+
+    private DLockConfig lockConfig = new DLockConfig();
+
+    /* init parameter begin */
+    private final List<StringRedisTemplate> nodes;
+    private final String lockKey;
+    private final String token;
+    private final ExecutorService executor;
+    private final List<String> keys;
+    private final int quorum;
+    /* init parameter end */
+
+    /**
+     * guards the hold state and the attempts changing it, never held while waiting for a retry.
+     */
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private volatile int holdCount;
+    private volatile long validUntil;
+
+    public QuorumDLock(List<StringRedisTemplate> nodes, String lockKey, String token, ExecutorService executor) {
+        this.nodes = nodes;
+        this.lockKey = lockKey;
+        this.token = token;
+        this.executor = executor;
+        this.keys = Collections.singletonList(lockKey);
+        this.quorum = nodes.size() / 2 + 1;
+    }
+
+    public void setLockConfig(DLockConfig lockConfig) {
+        this.lockConfig = lockConfig;
+    }
+
+    /**
+     * The time in millis until which the lock is safely held, 0 if not locked.
+     *
+     * @return valid until
+     */
+    public long getValidUntil() {
+        return holdCount > 0 ? validUntil : 0;
+    }
+
+    @Override
+    public boolean tryLock(long leaseTime, TimeUnit leaseTimeUnit) {
+        return this.tryLock(lockConfig.getDefaultWaitMillisTime(), leaseTime, leaseTimeUnit);
+    }
+
+    @Override
+    public boolean tryLock(long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit) {
+        long leaseMillisTime = TimeoutUtils.toMillis(leaseTime, leaseTimeUnit);
+        long drift = (long) (leaseMillisTime * lockConfig.getQuorumClockDriftFactor()) + 2;
+        long start = System.currentTimeMillis();
+        int attempts = 0;
+        long delay = 0;
+        try {
+            while (true) {
+                long now;
+                stateLock.lock();
+                try {
+                    if (holdCount > 0 && System.currentTimeMillis() < validUntil) {
+                        holdCount++;
+                        return true;
+                    }
+                    long attemptStart = System.currentTimeMillis();
+                    int granted = this.callAll(node -> node.execute(ScriptRegistry.QUORUM_LOCK, keys, token,
+                            ScriptArgs.millis(leaseMillisTime)));
+                    now = System.currentTimeMillis();
+                    long validity = leaseMillisTime - (now - attemptStart) - drift;
+                    if (granted >= quorum && validity > 0) {
+                        holdCount = holdCount > 0 ? holdCount + 1 : 1;
+                        validUntil = now + validity;
+                        return true;
+                    }
+                    // no quorum, give back the nodes granted so others need not wait for the lease.
+                    this.callAll(node -> node.execute(ScriptRegistry.UNLOCK, keys, token, LockSubscriber.channel(lockKey)));
+                } finally {
+                    stateLock.unlock();
+                }
+
+                long remainingMillis = waitMillisTime - (now - start);
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                Thread.sleep(delay);
+            }
+        } catch (Exception e) {
+            throw new DLockException("lock fail !", e);
+        }
+    }
+
+    @Override
+    public void unlock() {
+        stateLock.lock();
+        try {
+            if (holdCount == 0) {
+                return;
+            }
+            if (--holdCount > 0) {
+                // nested release, keep the lock in redis.
+                return;
+            }
+            validUntil = 0;
+            int released;
+            try {
+                released = this.callAll(node -> node.execute(ScriptRegistry.UNLOCK, keys, token, LockSubscriber.channel(lockKey)));
+            } catch (Exception e) {
+                throw new DLockException("unlock fail !", e);
+            }
+            if (released < quorum) {
+                throw new DLockException("try to release a lock that is not owned.");
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isLocked() {
+        return holdCount > 0 && System.currentTimeMillis() < validUntil;
+    }
+
+    @Override
+    public int getHoldCount() {
+        return this.isLocked() ? holdCount : 0;
+    }
+
+    /**
+     * Call all the nodes at once, and wait until a quorum succeeded, a quorum is out of reach or the
+     * node timeout passes, so the latency follows the slowest node of the majority.
+     *
+     * @return number of nodes succeeded so far
+     */
+    private int callAll(Function<StringRedisTemplate, Long> call) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<Void> decided = new CompletableFuture<>();
+        for (StringRedisTemplate node : nodes) {
+            CompletableFuture.supplyAsync(() -> call.apply(node), executor).whenComplete((result, e) -> {
+                if (e == null && LuaScript.SUCCESS.equals(result)) {
+                    if (succeeded.incrementAndGet() >= quorum) {
+                        decided.complete(null);
+                    }
+                } else if (failed.incrementAndGet() > nodes.size() - quorum) {
+                    decided.complete(null);
+                }
+            });
+        }
+        try {
+            decided.get(lockConfig.getQuorumNodeTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // the nodes not answered in time count as failed.
+        }
+        return succeeded.get();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.ReactiveDLock;
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.exception.DLockException;
+import com.lazycece.dlock.core.pubsub.LockSubscriber;
+import com.lazycece.dlock.core.renewal.RenewalArgs;
+import com.lazycece.dlock.core.script.LuaScript;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.TimeoutUtils;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The reactive redis lock, runs the lock scripts on the reactive commands, waits between
+ * attempts on reactor timers and renews the lease with a non-blocking interval.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class ReactiveRedisDistributedLock implements ReactiveDLock {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * lock config, given default information. Can custom using <code>{@code setLockConfig}</code>
+     *
+     * @see DLockConfig
+     * @see ReactiveRedisDistributedLock#setLockConfig
+     */
+    private DLockConfig lockConfig = new DLockConfig();
+    /**
+     * lock release subscriber, polling is used while trying lock if absent.
+     */
+    private LockSubscriber subscriber;
+    /**
+     * the hold acquired by this lock, null if not locked.
+     */
+    private volatile LockHold hold;
+    private volatile Disposable renewal;
+
+    /* init parameter begin */
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String lockKey;
+    private final String token;
+    /* init parameter end */
+
+    public ReactiveRedisDistributedLock(ReactiveStringRedisTemplate redisTemplate, String lockKey, String token) {
+        this.redisTemplate = redisTemplate;
+        this.lockKey = lockKey;
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setLockConfig(DLockConfig lockConfig) {
+        this.lockConfig = lockConfig;
+    }
+
+    public void setSubscriber(LockSubscriber subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public Mono<Boolean> tryLock(long leaseTime, TimeUnit leaseTimeUnit) {
+        return this.tryLock(lockConfig.getDefaultWaitMillisTime(), leaseTime, leaseTimeUnit);
+    }
+
+    @Override
+    public Mono<Boolean> tryLock(long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit) {
+        return Mono.defer(() -> {
+            LockHold held = hold;
+            if (held != null && !held.isLost()) {
+                // reentrant on the same lock object.
+                held.increment();
+                return Mono.just(true);
+            }
+
+            long leaseMillisTime = TimeoutUtils.toMillis(leaseTime, leaseTimeUnit);
+            Attempt attempt = new Attempt(System.currentTimeMillis() + waitMillisTime, leaseMillisTime);
+            return attempt.run()
+                    .doFinally(signal -> attempt.unsubscribe())
+                    .doOnCancel(attempt::cancel)
+                    .onErrorMap(e -> new DLockException("lock fail !", e));
+        });
+    }
+
+    @Override
+    public Mono<Void> unlock() {
+        return Mono.defer(() -> {
+            LockHold released = hold;
+            if (released == null || released.decrement() > 0) {
+                return Mono.empty();
+            }
+            hold = null;
+            this.stopRenewal();
+            if (released.isLost()) {
+                // no locks, no release required.
+                return Mono.empty();
+            }
+
+            return this.execute(ScriptRegistry.UNLOCK, token, LockSubscriber.channel(lockKey))
+                    .flatMap(result -> LuaScript.SUCCESS.equals(result) ? Mono.<Void>empty()
+                            : Mono.error(new DLockException("try to release a lock that is not owned.")))
+                    .onErrorMap(e -> new DLockException("unlock fail !", e));
+        });
+    }
+
+    @Override
+    public boolean isLocked() {
+        LockHold held = hold;
+        return held != null && !held.isLost();
+    }
+
+    private <T> Mono<T> execute(RedisScript<T> script, String... args) {
+        List<String> keys = Collections.singletonList(lockKey);
+        return redisTemplate.execute(script, keys, Arrays.asList(args)).next();
+    }
+
+    /**
+     * Start the lock renewals task.
+     */
+    private void startRenewal(LockHold acquired, long leaseMillisTime) {
+        if (!lockConfig.isEnableRenewal()) {
+            log.debug("lock renewal service is not enabled ! ");
+            return;
+        }
+
+        if (leaseMillisTime < lockConfig.getRenewalThreshold()) {
+            log.debug("lock lease time dose not reach the threshold, and the renewals service will not be enabled. ");
+            return;
+        }
+
+        log.debug("lock renewal service start, lockKey = {}", lockKey);
+        RenewalArgs renewalArgs = new RenewalArgs(1).add(lockKey, token, leaseMillisTime);
+        renewal = Flux.interval(Duration.ofMillis(leaseMillisTime / 3))
+                .concatMap(tick -> this.execute(ScriptRegistry.RENEWAL, renewalArgs.getArgs())
+                        .map(results -> LuaScript.SUCCESS.equals(results.get(0)))
+                        .onErrorResume(e -> {
+                            // renewal failed, print log.
+                            log.error("lock renewals fail: {}", e.getMessage(), e);
+                            return Mono.just(true);
+                        }))
+                .takeUntil(renewed -> !renewed)
+                .subscribe(renewed -> {
+                    if (renewed) {
+                        log.debug("lock renewal successful, lockKey = {}", lockKey);
+                    } else {
+                        // lost lock, to stop renew
+                        log.debug("not owned lock, stop renewal service, lockKey = {}", lockKey);
+                        acquired.lost();
+                    }
+                });
+    }
+
+    /**
+     * Stop the lock renewals task.
+     */
+    private void stopRenewal() {
+        Disposable current = renewal;
+        if (current != null) {
+            current.dispose();
+            renewal = null;
+        }
+    }
+
+    /**
+     * One try lock call, retries until locked or the deadline is reached.
+     */
+    private class Attempt {
+
+        private static final int PENDING = 0;
+        private static final int ACQUIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final long deadline;
+        private final long leaseMillisTime;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile LockSubscriber.LockEntry entry;
+        /**
+         * the last lock call, kept to see its outcome once the subscriber gave up.
+         */
+        private volatile CompletableFuture<Long> call;
+        private int attempts;
+        private long delay;
+
+        Attempt(long deadline, long leaseMillisTime) {
+            this.deadline = deadline;
+            this.leaseMillisTime = leaseMillisTime;
+        }
+
+        Mono<Boolean> run() {
+            // the lease starts no earlier than the attempt is made.
+            long attemptNanos = System.nanoTime();
+            // the lock call is not cancelled with the subscriber, as redis may have granted it already.
+            call = execute(ScriptRegistry.LOCK, token, ScriptArgs.millis(leaseMillisTime)).toFuture();
+            return Mono.fromFuture(call, true).flatMap(result -> {
+                if (LuaScript.SUCCESS.equals(result)) {
+                    return Mono.just(this.acquired(attemptNanos));
+                }
+
+                long remainingMillis = deadline - System.currentTimeMillis();
+                if (remainingMillis <= 0) {
+                    return Mono.just(false);
+                }
+
+                if (subscriber == null) {
+                    delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                    return Mono.delay(Duration.ofMillis(delay)).then(Mono.defer(this::run));
+                }
+                if (entry == null) {
+                    // subscribe first, then retry at once so that no release is missed. The first
+                    // waiter of the key waits for the channel subscription, kept off the caller thread.
+                    return Mono.fromRunnable(() -> entry = subscriber.subscribe(lockKey))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.defer(this::run));
+                }
+                // wait for the release notification, or the holder's lease expiring.
+                long ttl = -result;
+                if (ttl <= 0) {
+                    delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                    ttl = delay;
+                }
+                return Mono.fromFuture(entry.awaitAsync(Math.min(remainingMillis, ttl))).then(Mono.defer(this::run));
+            });
+        }
+
+        /**
+         * Hold the lock granted by redis, unless the subscriber gave up in the meantime.
+         */
+        private boolean acquired(long attemptNanos) {
+            LockHold acquiredHold = new LockHold();
+            startRenewal(acquiredHold, leaseMillisTime);
+            if (renewal == null) {
+                acquiredHold.expireAt(attemptNanos + TimeUnit.MILLISECONDS.toNanos(leaseMillisTime));
+            }
+            hold = acquiredHold;
+            if (state.compareAndSet(PENDING, ACQUIRED)) {
+                return true;
+            }
+            // cancelled, the lock is released by cancel() on the outcome of the call.
+            hold = null;
+            stopRenewal();
+            return false;
+        }
+
+        void unsubscribe() {
+            if (entry != null) {
+                subscriber.unsubscribe(lockKey, entry);
+                entry = null;
+            }
+        }
+
+        /**
+         * The subscriber gave up, release the lock if it has been acquired already or is granted by
+         * the lock call still in flight.
+         */
+        void cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                CompletableFuture<Long> inFlight = call;
+                if (inFlight != null) {
+                    inFlight.thenAccept(result -> {
+                        if (LuaScript.SUCCESS.equals(result)) {
+                            execute(ScriptRegistry.UNLOCK, token, LockSubscriber.channel(lockKey))
+                                    .subscribe(null, e -> log.error("unlock error, lockKey = {}", lockKey, e));
+                        }
+                    });
+                }
+            } else if (state.get() == ACQUIRED) {
+                unlock().subscribe(null, e -> log.error("unlock error, lockKey = {}", lockKey, e));
+            }
+        }
+    }
+}
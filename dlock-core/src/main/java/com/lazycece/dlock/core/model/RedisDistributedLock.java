@@ -16,11 +16,18 @@
 
 package com.lazycece.dlock.core.model;
 
-import com.alibaba.fastjson2.JSON;
 import com.lazycece.dlock.core.DLock;
 import com.lazycece.dlock.core.config.DLockConfig;
 import com.lazycece.dlock.core.exception.DLockException;
+import com.lazycece.dlock.core.gate.LocalGate;
+import com.lazycece.dlock.core.observe.LockObserver;
+import com.lazycece.dlock.core.pubsub.LockSubscriber;
+import com.lazycece.dlock.core.renewal.Lease;
+import com.lazycece.dlock.core.renewal.RenewalScheduler;
 import com.lazycece.dlock.core.script.LuaScript;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import com.lazycece.dlock.core.script.ScriptRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -28,8 +35,7 @@ import org.springframework.data.redis.core.TimeoutUtils;
 import org.springframework.data.redis.core.script.RedisScript;
 
 import java.util.Collections;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,11 +46,6 @@ public class RedisDistributedLock implements DLock {
 
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
-    /* redis script begin */
-    private final static RedisScript<Long> lockScript = RedisScript.of(LuaScript.LOCK_SCRIPT, Long.class);
-    private final static RedisScript<Long> unLockScript = RedisScript.of(LuaScript.UNLOCK_SCRIPT, Long.class);
-    /* redis script end */
-
     /**
      * lock config, given default information. Can custom using <code>{@code setLockConfig}</code>
      *
@@ -52,29 +53,93 @@ public class RedisDistributedLock implements DLock {
      * @see RedisDistributedLock#setLockConfig
      */
     private DLockConfig lockConfig = new DLockConfig();
-    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
-    private volatile boolean isLocked = false;
+    /**
+     * lock release subscriber, polling is used while trying lock if absent.
+     */
+    private LockSubscriber subscriber;
+    /**
+     * lease renewal engine shared by the factory, no renewal if absent.
+     */
+    private RenewalScheduler renewalScheduler;
+    /**
+     * runs the lock scripts, EVALSHA through the redis template if absent.
+     */
+    private ScriptRunner scriptRunner;
+    /**
+     * in-JVM gate in front of redis, every local thread contends on redis if absent.
+     */
+    private LocalGate localGate;
+    /**
+     * told the outcome of the lock operations, nothing is timed if absent.
+     */
+    private LockObserver lockObserver;
+    /**
+     * the hold acquired through this lock, null if not locked.
+     */
+    private volatile LockHold hold;
+    /**
+     * acquires of the hold made through this lock and not released yet, only accessed by the owner thread.
+     */
+    private int depth;
 
     /* init parameter begin */
-    private final StringRedisTemplate redisTemplate;
-    private final String lockKey;
-    private final String token;
+    protected final StringRedisTemplate redisTemplate;
+    protected final String lockKey;
+    /**
+     * the lock key as the script keys, built once for all the script calls.
+     */
+    protected final List<String> lockKeyList;
+    /**
+     * the release channel of the lock key, built on the first release and kept for the next ones.
+     */
+    private String channel;
+    protected final String token;
+    /**
+     * locks held by the thread owning the token, keyed by lock key.
+     */
+    protected final LockHolds holds;
     /* init parameter end */
 
-    public RedisDistributedLock(StringRedisTemplate redisTemplate, String lockKey, String token) {
+    public RedisDistributedLock(StringRedisTemplate redisTemplate, String lockKey, String token, LockHolds holds) {
         this.redisTemplate = redisTemplate;
         this.lockKey = lockKey;
+        this.lockKeyList = Collections.singletonList(lockKey);
         this.token = token;
+        this.holds = holds;
     }
 
     public String getToken() {
         return token;
     }
 
+    public DLockConfig getLockConfig() {
+        return lockConfig;
+    }
+
     public void setLockConfig(DLockConfig lockConfig) {
         this.lockConfig = lockConfig;
     }
 
+    public void setSubscriber(LockSubscriber subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    public void setRenewalScheduler(RenewalScheduler renewalScheduler) {
+        this.renewalScheduler = renewalScheduler;
+    }
+
+    public void setLocalGate(LocalGate localGate) {
+        this.localGate = localGate;
+    }
+
+    public void setScriptRunner(ScriptRunner scriptRunner) {
+        this.scriptRunner = scriptRunner;
+    }
+
+    public void setLockObserver(LockObserver lockObserver) {
+        this.lockObserver = lockObserver;
+    }
+
     @Override
     public boolean tryLock(long leaseTime, TimeUnit leaseTimeUnit) {
         return this.tryLock(lockConfig.getDefaultWaitMillisTime(), leaseTime, leaseTimeUnit);
@@ -82,127 +147,302 @@ public class RedisDistributedLock implements DLock {
 
     @Override
     public boolean tryLock(long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit) {
+        // thread reentrant, held locally and need not to go to redis. The lease of the outermost acquire is kept.
+        LockHold held = holds.get(this.holdKey());
+        if (held != null && !held.isLost()) {
+            held.increment();
+            this.hold(held);
+            return true;
+        }
+        if (held != null) {
+            // lost since, dropped before locking again.
+            this.discard(held);
+        }
+
         long leaseMillisTime = TimeoutUtils.toMillis(leaseTime, leaseTimeUnit);
         long start = System.currentTimeMillis();
+        long startNanos = lockObserver == null ? 0 : System.nanoTime();
 
+        LocalGate.Gate gate = null;
+        LockSubscriber.LockEntry entry = null;
+        String waitKey = null;
+        int attempts = 0;
+        long delay = 0;
+        // failed attempts made, to clean up if not locked at last.
+        boolean waited = false;
+        boolean locked = false;
+        int tries = 0;
         try {
-            LockedValue lockedValue = LockedValue.lockedValue(token, 1);
-            String lockedValueJson = JSON.toJSONString(lockedValue);
+            if (localGate != null) {
+                // wait behind the local threads of the same lock key first.
+                gate = localGate.enter(lockKey, waitMillisTime);
+                if (gate == null) {
+                    return false;
+                }
+            }
 
             while (true) {
-                Long result = redisTemplate.execute(lockScript, Collections.singletonList(lockKey)
-                        , lockedValueJson, String.valueOf(leaseMillisTime));
+                // the lease starts no earlier than the attempt is sent.
+                long attemptNanos = System.nanoTime();
+                Long result = this.acquire(leaseMillisTime);
+                tries++;
 
-                if (LuaScript.SUCCESS.equals(result)) {
-                    isLocked = true;
-                    this.startRenewal(leaseTime, leaseTimeUnit);
+                if (result != null && result > 0) {
+                    LockHold acquired = new LockHold();
+                    acquired.setFence(result);
+                    acquired.setGate(gate);
+                    if (lockObserver != null) {
+                        acquired.setAcquiredNanos(System.nanoTime());
+                    }
+                    gate = null;
+                    this.startRenewal(acquired, leaseMillisTime);
+                    if (acquired.getLease() == null) {
+                        acquired.expireAt(attemptNanos + TimeUnit.MILLISECONDS.toNanos(leaseMillisTime));
+                    }
+                    holds.put(this.holdKey(), acquired);
+                    this.hold(acquired);
+                    waited = false;
+                    locked = true;
                     return true;
                 }
+                waited = true;
 
-                if (System.currentTimeMillis() - start >= waitMillisTime) {
+                long remainingMillis = waitMillisTime - (System.currentTimeMillis() - start);
+                if (remainingMillis <= 0) {
                     return false;
                 }
 
-                // sleepy
-                Thread.sleep(lockConfig.getTrySleepMillis());
+                if (subscriber == null) {
+                    // sleepy
+                    delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                    Thread.sleep(delay);
+                } else if (entry == null) {
+                    // subscribe first, then retry at once so that no release is missed.
+                    waitKey = this.waitKey();
+                    entry = subscriber.subscribe(waitKey);
+                } else if (!waitKey.equals(this.waitKey())) {
+                    // blocked on another key since, move the subscription over and retry at once.
+                    subscriber.unsubscribe(waitKey, entry);
+                    waitKey = this.waitKey();
+                    entry = subscriber.subscribe(waitKey);
+                } else {
+                    // wait for the release notification, or the holder's lease expiring.
+                    long ttl = result == null ? 0 : -result;
+                    if (ttl <= 0) {
+                        delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                        ttl = delay;
+                    }
+                    entry.await(Math.min(remainingMillis, ttl));
+                }
             }
         } catch (Exception e) {
             throw new DLockException("lock fail !", e);
+        } finally {
+            if (entry != null) {
+                subscriber.unsubscribe(waitKey, entry);
+            }
+            if (gate != null) {
+                localGate.exit(lockKey, gate);
+            }
+            if (waited) {
+                this.cancelAcquire();
+            }
+            if (lockObserver != null) {
+                lockObserver.onAcquire(lockKey, locked, tries, System.nanoTime() - startNanos);
+            }
         }
     }
 
     @Override
     public void unlock() {
-        if (!isLocked) {
+        LockHold released = hold;
+        if (released == null) {
+            return;
+        }
+        if (released.getOwnerThreadId() != LockHolds.currentThreadId()) {
+            throw new DLockException("try to release a lock held by another thread.");
+        }
+        if (--depth == 0) {
+            hold = null;
+        }
+
+        if (holds.get(this.holdKey()) != released) {
+            // lost and dropped when locked again since, nothing left to release nor to report.
             return;
         }
+        if (released.decrement() > 0) {
+            // nested release, keep the lock in redis.
+            return;
+        }
+        holds.remove(this.holdKey());
+        this.stopRenewal(released);
+        if (lockObserver != null) {
+            if (released.isLost()) {
+                lockObserver.onLost(lockKey);
+            } else {
+                lockObserver.onRelease(lockKey, System.nanoTime() - released.getAcquiredNanos());
+            }
+        }
 
         try {
-            LockedValue lockedValue = LockedValue.lockedValue(token, 1);
-            String lockedValueJson = JSON.toJSONString(lockedValue);
+            if (released.isLost()) {
+                // no locks, no release required.
+                return;
+            }
 
-            Long result = redisTemplate.execute(unLockScript, Collections.singletonList(lockKey), lockedValueJson);
+            Long result = this.release();
 
-            if (LuaScript.SUCCESS.equals(result)) {
-                this.stopRenewal();
-                isLocked = false;
-            } else {
+            if (!LuaScript.SUCCESS.equals(result)) {
                 throw new DLockException("try to release a lock that is not owned.");
             }
         } catch (Exception e) {
             throw new DLockException("unlock fail !", e);
+        } finally {
+            this.exitGate(released);
         }
     }
 
     @Override
     public boolean isLocked() {
-        return this.isLocked;
+        LockHold held = hold;
+        return held != null && !held.isLost();
     }
 
     @Override
     public int getHoldCount() {
-        try {
-            String lockedValueJson = redisTemplate.opsForValue().get(lockKey);
-            LockedValue lockedValue = JSON.parseObject(lockedValueJson, LockedValue.class);
-            if (lockedValue == null) {
-                return 0;
-            } else {
-                return lockedValue.getCount() == null ? 0 : lockedValue.getCount();
-            }
-        } catch (Exception e) {
-            throw new DLockException("Get hold count fail.", e);
+        LockHold held = holds.get(this.holdKey());
+        return held == null || held.isLost() ? 0 : held.getCount();
+    }
+
+    /**
+     * Try to acquire the lock in redis once.
+     *
+     * @param leaseMillisTime lease millis
+     * @return positive if locked (the fencing token if fenced), otherwise the negative millis to wait before
+     * the next attempt (0 if unknown)
+     */
+    protected Long acquire(long leaseMillisTime) {
+        return this.execute(ScriptRegistry.LOCK, lockKeyList, token, ScriptArgs.millis(leaseMillisTime));
+    }
+
+    /**
+     * Release the lock in redis.
+     *
+     * @return 1 if released, otherwise the lock is not owned
+     */
+    protected Long release() {
+        return this.execute(ScriptRegistry.UNLOCK, lockKeyList, token, this.channel());
+    }
+
+    /**
+     * Run a lock script on the script backend.
+     */
+    protected <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return scriptRunner == null ? redisTemplate.execute(script, keys, args) : scriptRunner.execute(script, keys, args);
+    }
+
+    /**
+     * The release channel of the lock key, not built by the nested locks that never release.
+     *
+     * @return channel
+     */
+    protected String channel() {
+        if (channel == null) {
+            channel = LockSubscriber.channel(lockKey);
+        }
+        return channel;
+    }
+
+    /**
+     * The key of the release notifications this lock waits on, read after each failed attempt.
+     *
+     * @return subscriber key
+     */
+    protected String waitKey() {
+        return lockKey;
+    }
+
+    /**
+     * The redis keys renewed while the lock is held.
+     *
+     * @return lease keys
+     */
+    protected List<String> leaseKeys() {
+        return lockKeyList;
+    }
+
+    /**
+     * The key of the local hold of this lock by the current thread.
+     *
+     * @return hold key
+     */
+    protected String holdKey() {
+        return lockKey;
+    }
+
+    /**
+     * Called once try lock gives up after failed attempts.
+     */
+    protected void cancelAcquire() {
+    }
+
+    /**
+     * Count one more acquire of the hold through this lock.
+     */
+    private void hold(LockHold held) {
+        if (hold != held) {
+            hold = held;
+            depth = 0;
+        }
+        depth++;
+    }
+
+    /**
+     * Drop a lost hold of the current thread, nothing is held in redis any more.
+     */
+    private void discard(LockHold lost) {
+        holds.remove(this.holdKey());
+        this.stopRenewal(lost);
+        this.exitGate(lost);
+        if (lockObserver != null) {
+            lockObserver.onLost(lockKey);
+        }
+    }
+
+    private void exitGate(LockHold released) {
+        LocalGate.Gate gate = released.getGate();
+        if (gate != null) {
+            released.setGate(null);
+            localGate.exit(lockKey, gate);
         }
     }
 
     /**
      * Start the lock renewals task.
      */
-    private void startRenewal(long leaseTime, TimeUnit leaseTimeUnit) {
-        if (!lockConfig.isEnableRenewal()) {
+    private void startRenewal(LockHold acquired, long leaseMillisTime) {
+        if (!lockConfig.isEnableRenewal() || renewalScheduler == null) {
             log.debug("lock renewal service is not enabled ! ");
             return;
         }
 
-        long leaseMillisTime = TimeoutUtils.toMillis(leaseTime, leaseTimeUnit);
         if (leaseMillisTime < lockConfig.getRenewalThreshold()) {
             log.debug("lock lease time dose not reach the threshold, and the renewals service will not be enabled. ");
             return;
         }
 
-        log.debug("lock renewal service start, lockKey = {}", lockKey);
-
-        watchdog.scheduleAtFixedRate(() -> {
-            // no locks, no renewal required.
-            if (!isLocked) {
-                log.debug("not owned lock, need not to  renewal, lockKey = {}", lockKey);
-                return;
-            }
-
-            try {
-                String lockedValueJson = redisTemplate.opsForValue().get(lockKey);
-                LockedValue lockedValue = JSON.parseObject(lockedValueJson, LockedValue.class);
-                if (lockedValue != null && token.equals(lockedValue.getToken())) {
-                    // current own, to renew
-                    redisTemplate.expire(lockKey, leaseTime, leaseTimeUnit);
-                    log.debug("lock renewal successful, lockKey = {}", lockKey);
-                } else {
-                    // lost lock, to stop renew
-                    log.debug("not owned lock, stop renewal service, lockKey = {}", lockKey);
-                    this.stopRenewal();
-                    isLocked = false;
-                }
-            } catch (Exception e) {
-                // renewal failed, print log.
-                log.error("lock renewals fail: {}", e.getMessage(), e);
-            }
-        }, leaseMillisTime / 3, leaseMillisTime / 3, TimeUnit.MILLISECONDS);
+        Lease lease = new Lease(lockKey, this.leaseKeys(), token, leaseMillisTime, acquired::lost);
+        acquired.setLease(lease);
+        renewalScheduler.register(lease);
     }
 
     /**
      * Stop the lock renewals task.
      */
-    private void stopRenewal() {
-        watchdog.shutdownNow();
+    private void stopRenewal(LockHold released) {
+        if (released.getLease() != null) {
+            renewalScheduler.cancel(released.getLease());
+        }
     }
 
 }
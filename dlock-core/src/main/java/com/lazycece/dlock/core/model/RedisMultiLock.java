@@ -0,0 +1,85 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.pubsub.LockSubscriber;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+/**
+ * Lock of several keys at once, all the keys are locked or none in one script call, so there is
+ * no lock ordering to get wrong. Each key is stored as a plain lock, and the same thread may
+ * also hold any of them through {@link RedisDistributedLock}.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class RedisMultiLock extends RedisDistributedLock {
+
+    private final List<String> lockKeys;
+    /**
+     * the key blocking the last failed attempt, waited on until the next attempt.
+     */
+    private volatile String blockingKey;
+    private final String holdKey;
+
+    /**
+     * @param lockKeys the distinct keys in a stable order, shared by all the multi locks of the same keys
+     */
+    public RedisMultiLock(StringRedisTemplate redisTemplate, List<String> lockKeys, String token, LockHolds holds) {
+        super(redisTemplate, String.join(",", lockKeys), token, holds);
+        this.lockKeys = lockKeys;
+        this.blockingKey = lockKeys.get(0);
+        this.holdKey = "multi:" + lockKey;
+    }
+
+    @Override
+    protected Long acquire(long leaseMillisTime) {
+        List<?> result = this.execute(ScriptRegistry.MULTI_LOCK, lockKeys, token, ScriptArgs.millis(leaseMillisTime));
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+        long index = (Long) result.get(1);
+        if (index > 0) {
+            blockingKey = lockKeys.get((int) index - 1);
+        }
+        return (Long) result.get(0);
+    }
+
+    @Override
+    protected Long release() {
+        return this.execute(ScriptRegistry.MULTI_UNLOCK, lockKeys, token, LockSubscriber.CHANNEL_PREFIX);
+    }
+
+    @Override
+    protected String waitKey() {
+        return blockingKey;
+    }
+
+    @Override
+    protected List<String> leaseKeys() {
+        return lockKeys;
+    }
+
+    @Override
+    protected String holdKey() {
+        return holdKey;
+    }
+
+}
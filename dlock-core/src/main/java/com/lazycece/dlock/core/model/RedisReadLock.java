@@ -0,0 +1,57 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Read view of {@link RedisReadWriteLock}, shared with the other readers and the write owner. Each
+ * reader expires on its own lease, so a crashed reader never keeps the writers out for good.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class RedisReadLock extends RedisDistributedLock {
+
+    private final String writeToken;
+    private final String holdKey;
+
+    public RedisReadLock(StringRedisTemplate redisTemplate, String lockKey, String token, LockHolds holds) {
+        super(redisTemplate, lockKey, token + RedisReadWriteLock.READ_SUFFIX, holds);
+        this.writeToken = token + RedisReadWriteLock.WRITE_SUFFIX;
+        this.holdKey = lockKey + RedisReadWriteLock.READ_SUFFIX;
+    }
+
+    @Override
+    protected Long acquire(long leaseMillisTime) {
+        return this.execute(ScriptRegistry.READ_LOCK, lockKeyList, token,
+                ScriptArgs.millis(leaseMillisTime), writeToken, ScriptArgs.now());
+    }
+
+    @Override
+    protected Long release() {
+        return this.execute(ScriptRegistry.READ_WRITE_UNLOCK, lockKeyList, token,
+                this.channel(), "read", ScriptArgs.now());
+    }
+
+    @Override
+    protected String holdKey() {
+        return holdKey;
+    }
+
+}
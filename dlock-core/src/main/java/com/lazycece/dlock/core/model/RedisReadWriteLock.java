@@ -0,0 +1,50 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DReadWriteLock;
+
+/**
+ * The read and write views share one redis hash: the `mode` field holds `read` or `write`,
+ * and each owner token of a view holds its hold count.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class RedisReadWriteLock implements DReadWriteLock {
+
+    static final String READ_SUFFIX = ":read";
+    static final String WRITE_SUFFIX = ":write";
+
+    private final RedisReadLock readLock;
+    private final RedisWriteLock writeLock;
+
+    public RedisReadWriteLock(RedisReadLock readLock, RedisWriteLock writeLock) {
+        this.readLock = readLock;
+        this.writeLock = writeLock;
+    }
+
+    @Override
+    public DLock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public DLock writeLock() {
+        return writeLock;
+    }
+}
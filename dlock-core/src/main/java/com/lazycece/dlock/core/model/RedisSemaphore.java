@@ -0,0 +1,236 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DSemaphore;
+import com.lazycece.dlock.core.cluster.ClusterKeys;
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.exception.DLockException;
+import com.lazycece.dlock.core.pubsub.LockSubscriber;
+import com.lazycece.dlock.core.renewal.Lease;
+import com.lazycece.dlock.core.renewal.RenewalScheduler;
+import com.lazycece.dlock.core.script.LuaScript;
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import com.lazycece.dlock.core.script.ScriptRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.TimeoutUtils;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The holders of the semaphore are kept in a redis set, and the permits of each holder in its
+ * own leased hash of token to permit count, shaped like a lock so that the renewal engine
+ * renews it as any lock. The holder state is only guarded around the redis calls, the waits
+ * between attempts hold nothing, so a release is never blocked by a waiting acquire.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class RedisSemaphore implements DSemaphore {
+
+    private DLockConfig lockConfig = new DLockConfig();
+    private LockSubscriber subscriber;
+    private RenewalScheduler renewalScheduler;
+    private ScriptRunner scriptRunner;
+
+    /* init parameter begin */
+    private final StringRedisTemplate redisTemplate;
+    private final String semaphoreKey;
+    private final int totalPermits;
+    private final String token;
+    /**
+     * holders set and the permits hash of this holder.
+     */
+    private final List<String> keys;
+    private final String permitKeyPrefix;
+    /* init parameter end */
+
+    /**
+     * guards the holder state below along with the redis calls changing it.
+     */
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private int heldPermits;
+    private Lease lease;
+    /**
+     * set by the renewal engine once the permits are found expired.
+     */
+    private volatile boolean lost;
+
+    public RedisSemaphore(StringRedisTemplate redisTemplate, String semaphoreKey, int totalPermits, String token) {
+        if (totalPermits <= 0) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.semaphoreKey = semaphoreKey;
+        this.totalPermits = totalPermits;
+        this.token = token;
+        this.permitKeyPrefix = ClusterKeys.related("dlock:permit:", semaphoreKey) + ":";
+        this.keys = Arrays.asList(semaphoreKey, permitKeyPrefix + token);
+    }
+
+    public void setLockConfig(DLockConfig lockConfig) {
+        this.lockConfig = lockConfig;
+    }
+
+    public void setSubscriber(LockSubscriber subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    public void setRenewalScheduler(RenewalScheduler renewalScheduler) {
+        this.renewalScheduler = renewalScheduler;
+    }
+
+    public void setScriptRunner(ScriptRunner scriptRunner) {
+        this.scriptRunner = scriptRunner;
+    }
+
+    @Override
+    public boolean tryAcquire(long leaseTime, TimeUnit leaseTimeUnit) {
+        return this.tryAcquire(1, lockConfig.getDefaultWaitMillisTime(), leaseTime, leaseTimeUnit);
+    }
+
+    @Override
+    public boolean tryAcquire(int permits, long waitMillisTime, long leaseTime, TimeUnit leaseTimeUnit) {
+        if (permits <= 0 || permits > totalPermits) {
+            throw new IllegalArgumentException("permits must be between 1 and " + totalPermits);
+        }
+        long leaseMillisTime = TimeoutUtils.toMillis(leaseTime, leaseTimeUnit);
+        long start = System.currentTimeMillis();
+
+        LockSubscriber.LockEntry entry = null;
+        int attempts = 0;
+        long delay = 0;
+        try {
+            while (true) {
+                Long result = this.attempt(permits, leaseMillisTime);
+                if (LuaScript.SUCCESS.equals(result)) {
+                    return true;
+                }
+
+                long remainingMillis = waitMillisTime - (System.currentTimeMillis() - start);
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+
+                if (subscriber == null) {
+                    // sleepy
+                    delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                    Thread.sleep(delay);
+                } else if (entry == null) {
+                    // subscribe first, then retry at once so that no release is missed.
+                    entry = subscriber.subscribe(semaphoreKey);
+                } else {
+                    // wait for a release notification, or the first holder's lease expiring.
+                    long ttl = result == null ? 0 : -result;
+                    if (ttl <= 0) {
+                        delay = lockConfig.nextRetryDelayMillis(++attempts, delay, remainingMillis);
+                        ttl = delay;
+                    }
+                    entry.await(Math.min(remainingMillis, ttl));
+                }
+            }
+        } catch (Exception e) {
+            throw new DLockException("acquire permits fail !", e);
+        } finally {
+            if (entry != null) {
+                subscriber.unsubscribe(semaphoreKey, entry);
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        stateLock.lock();
+        try {
+            if (heldPermits == 0) {
+                return;
+            }
+            boolean wasLost = lost;
+            this.reset();
+            if (wasLost) {
+                // expired already, no release required.
+                return;
+            }
+            this.execute(ScriptRegistry.SEMAPHORE_RELEASE, keys, token, LockSubscriber.channel(semaphoreKey));
+        } catch (Exception e) {
+            throw new DLockException("release permits fail !", e);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Override
+    public int getHeldPermits() {
+        stateLock.lock();
+        try {
+            return lost ? 0 : heldPermits;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * One acquire attempt, the permits are counted as held once granted.
+     */
+    private Long attempt(int permits, long leaseMillisTime) {
+        stateLock.lock();
+        try {
+            if (lost) {
+                // the permits held are gone, start over.
+                this.reset();
+            }
+            Long result = this.execute(ScriptRegistry.SEMAPHORE_ACQUIRE, keys, token, permitKeyPrefix,
+                    ScriptArgs.count(totalPermits), ScriptArgs.count(permits), ScriptArgs.millis(leaseMillisTime));
+            if (LuaScript.SUCCESS.equals(result)) {
+                heldPermits += permits;
+                this.startRenewal(leaseMillisTime);
+            }
+            return result;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return scriptRunner == null ? redisTemplate.execute(script, keys, args) : scriptRunner.execute(script, keys, args);
+    }
+
+    private void startRenewal(long leaseMillisTime) {
+        if (!lockConfig.isEnableRenewal() || renewalScheduler == null
+                || leaseMillisTime < lockConfig.getRenewalThreshold()) {
+            return;
+        }
+        if (lease != null) {
+            renewalScheduler.cancel(lease);
+        }
+        lease = new Lease(keys.get(1), token, leaseMillisTime, () -> lost = true);
+        renewalScheduler.register(lease);
+    }
+
+    private void reset() {
+        if (lease != null) {
+            renewalScheduler.cancel(lease);
+            lease = null;
+        }
+        heldPermits = 0;
+        lost = false;
+    }
+}
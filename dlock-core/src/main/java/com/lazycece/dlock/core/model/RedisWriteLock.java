@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.script.ScriptArgs;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Write view of {@link RedisReadWriteLock}, exclusive to one owner.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class RedisWriteLock extends RedisDistributedLock {
+
+    private final String holdKey;
+
+    public RedisWriteLock(StringRedisTemplate redisTemplate, String lockKey, String token, LockHolds holds) {
+        super(redisTemplate, lockKey, token + RedisReadWriteLock.WRITE_SUFFIX, holds);
+        this.holdKey = lockKey + RedisReadWriteLock.WRITE_SUFFIX;
+    }
+
+    @Override
+    protected Long acquire(long leaseMillisTime) {
+        return this.execute(ScriptRegistry.WRITE_LOCK, lockKeyList, token,
+                ScriptArgs.millis(leaseMillisTime), ScriptArgs.now());
+    }
+
+    @Override
+    protected Long release() {
+        return this.execute(ScriptRegistry.READ_WRITE_UNLOCK, lockKeyList, token,
+                this.channel(), "write", ScriptArgs.now());
+    }
+
+    @Override
+    protected String holdKey() {
+        return holdKey;
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.observe;
+
+/**
+ * Tells two observers the outcome of the lock operations, one after the other.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class CompositeLockObserver implements LockObserver {
+
+    private final LockObserver first;
+    private final LockObserver second;
+
+    private CompositeLockObserver(LockObserver first, LockObserver second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Combine the observers given, either may be null.
+     *
+     * @param first  observer told first
+     * @param second observer told second
+     * @return the combined observer, null if both are null
+     */
+    public static LockObserver of(LockObserver first, LockObserver second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return new CompositeLockObserver(first, second);
+    }
+
+    @Override
+    public void onAcquire(String lockKey, boolean acquired, int attempts, long waitNanos) {
+        first.onAcquire(lockKey, acquired, attempts, waitNanos);
+        second.onAcquire(lockKey, acquired, attempts, waitNanos);
+    }
+
+    @Override
+    public void onRelease(String lockKey, long holdNanos) {
+        first.onRelease(lockKey, holdNanos);
+        second.onRelease(lockKey, holdNanos);
+    }
+
+    @Override
+    public void onLost(String lockKey) {
+        first.onLost(lockKey);
+        second.onLost(lockKey);
+    }
+
+    @Override
+    public void onRenewal(String lockKey, boolean renewed) {
+        first.onRenewal(lockKey, renewed);
+        second.onRenewal(lockKey, renewed);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.observe;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Finds the most contended lock keys in fixed memory, however many distinct keys are locked.
+ * <p>
+ * Only the contended acquires are recorded, i.e. those that timed out, failed at least once or
+ * waited for {@link #CONTENDED_WAIT_NANOS} or more in all, the wait behind the local threads of the
+ * same key included, and they are weighed by the time waited. With a sample rate below 1 only that share of them is
+ * recorded, each scaled up by the inverse of the rate. The keys are kept in a space-saving summary
+ * of {@code capacity} entries: a new key evicts the entry of the least wait and inherits its wait as
+ * the error bound, so any key whose wait exceeds {@code totalWait / capacity} is sure to be kept.
+ * Hold durations are added up for the keys kept only, from the time they are kept on.
+ * <p>
+ * The keys kept are counted without locking, only a new key takes the eviction lock. The entries
+ * are ordered by their wait in a min-heap that is refreshed lazily: an entry found to have waited
+ * more than when it was queued is queued again, so an eviction costs O(log capacity) amortized.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class ContentionProfiler implements LockObserver {
+
+    /**
+     * the wait from which an acquire is contended, well above one redis round trip.
+     */
+    public static final long CONTENDED_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int capacity;
+    private final double sampleRate;
+    /**
+     * the weight of one sampled acquire.
+     */
+    private final long sampleWeight;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * the entries kept, the least wait first, guarded by the eviction lock.
+     */
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.queuedWaitNanos));
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder contendedAcquires = new LongAdder();
+
+    public ContentionProfiler(int capacity) {
+        this(capacity, 1);
+    }
+
+    public ContentionProfiler(int capacity, double sampleRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("contention profiler capacity must be positive");
+        }
+        if (!(sampleRate > 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("contention profiler sample rate must be in (0, 1]");
+        }
+        this.capacity = capacity;
+        this.sampleRate = sampleRate;
+        this.sampleWeight = Math.round(1 / sampleRate);
+    }
+
+    @Override
+    public void onAcquire(String lockKey, boolean acquired, int attempts, long waitNanos) {
+        if (acquired && attempts <= 1 && waitNanos < CONTENDED_WAIT_NANOS) {
+            // uncontended, the common case costs nothing.
+            return;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long wait = waitNanos * sampleWeight;
+        Entry entry = entries.get(lockKey);
+        if (entry == null) {
+            entry = this.track(lockKey);
+        }
+        entry.waitNanos.add(wait);
+        entry.contendedAcquires.add(sampleWeight);
+        entry.failedAttempts.add((long) (acquired ? attempts - 1 : attempts) * sampleWeight);
+        if (!acquired) {
+            entry.timeouts.add(sampleWeight);
+        }
+        totalWaitNanos.add(wait);
+        contendedAcquires.add(sampleWeight);
+    }
+
+    @Override
+    public void onRelease(String lockKey, long holdNanos) {
+        Entry entry = entries.get(lockKey);
+        if (entry == null) {
+            return;
+        }
+        entry.holdNanos.add(holdNanos);
+        entry.holds.increment();
+    }
+
+    /**
+     * The most contended keys, by time waited.
+     *
+     * @param n max keys
+     * @return snapshots of the top keys, the most contended first
+     */
+    public List<KeyContention> top(int n) {
+        List<KeyContention> top = new ArrayList<>(capacity);
+        for (Entry entry : entries.values()) {
+            top.add(entry.snapshot());
+        }
+        top.sort(Comparator.comparingLong(KeyContention::getWaitNanos).reversed());
+        return top.size() > n ? new ArrayList<>(top.subList(0, n)) : top;
+    }
+
+    /**
+     * The time waited by all the contended acquires, tracked keys or not.
+     *
+     * @return total wait nanos
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    public long getContendedAcquires() {
+        return contendedAcquires.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Drop everything recorded so far.
+     */
+    public void reset() {
+        evictionLock.lock();
+        try {
+            entries.clear();
+            heap.clear();
+            totalWaitNanos.reset();
+            contendedAcquires.reset();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Start tracking the key, evicting the key of the least wait if full.
+     */
+    private Entry track(String lockKey) {
+        evictionLock.lock();
+        try {
+            Entry entry = entries.get(lockKey);
+            if (entry != null) {
+                return entry;
+            }
+            long inherited = 0;
+            if (entries.size() >= capacity) {
+                inherited = this.evict().waitNanos.sum();
+            }
+            entry = new Entry(lockKey, inherited);
+            heap.add(entry);
+            entries.put(lockKey, entry);
+            return entry;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the entry of the least wait. The wait of an entry only grows, so the head is the least
+     * once its wait is still the one it was queued with.
+     */
+    private Entry evict() {
+        while (true) {
+            Entry min = heap.poll();
+            long waitNanos = min.waitNanos.sum();
+            if (waitNanos > min.queuedWaitNanos) {
+                min.queuedWaitNanos = waitNanos;
+                heap.add(min);
+                continue;
+            }
+            entries.remove(min.lockKey);
+            return min;
+        }
+    }
+
+    /**
+     * The live counters of one lock key kept.
+     */
+    private static class Entry {
+
+        private final String lockKey;
+        private final long waitErrorNanos;
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder contendedAcquires = new LongAdder();
+        private final LongAdder failedAttempts = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+        private final LongAdder holds = new LongAdder();
+        /**
+         * the wait when last queued in the heap, guarded by the eviction lock.
+         */
+        private long queuedWaitNanos;
+
+        Entry(String lockKey, long waitErrorNanos) {
+            this.lockKey = lockKey;
+            this.waitErrorNanos = waitErrorNanos;
+            this.waitNanos.add(waitErrorNanos);
+            this.queuedWaitNanos = waitErrorNanos;
+        }
+
+        KeyContention snapshot() {
+            KeyContention snapshot = new KeyContention(lockKey, waitErrorNanos);
+            snapshot.waitNanos = waitNanos.sum();
+            snapshot.contendedAcquires = contendedAcquires.sum();
+            snapshot.failedAttempts = failedAttempts.sum();
+            snapshot.timeouts = timeouts.sum();
+            snapshot.holdNanos = holdNanos.sum();
+            snapshot.holds = holds.sum();
+            return snapshot;
+        }
+    }
+
+    /**
+     * The contention of one lock key. The wait is overestimated by at most {@code waitErrorNanos},
+     * the wait inherited from the key evicted.
+     */
+    public static class KeyContention {
+
+        private final String lockKey;
+        private final long waitErrorNanos;
+        private long waitNanos;
+        private long contendedAcquires;
+        private long failedAttempts;
+        private long timeouts;
+        private long holdNanos;
+        private long holds;
+
+        KeyContention(String lockKey, long waitErrorNanos) {
+            this.lockKey = lockKey;
+            this.waitErrorNanos = waitErrorNanos;
+        }
+
+        public String getLockKey() {
+            return lockKey;
+        }
+
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        public long getWaitErrorNanos() {
+            return waitErrorNanos;
+        }
+
+        public long getContendedAcquires() {
+            return contendedAcquires;
+        }
+
+        public long getFailedAttempts() {
+            return failedAttempts;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getHoldNanos() {
+            return holdNanos;
+        }
+
+        public long getHolds() {
+            return holds;
+        }
+
+        /**
+         * The mean hold duration seen, 0 if none.
+         *
+         * @return mean hold millis
+         */
+        public double getMeanHoldMillis() {
+            return holds == 0 ? 0 : (double) holdNanos / holds / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.observe;
+
+/**
+ * Groups the lock keys by pattern: the segments of the key (split on ':') holding a digit are
+ * replaced by '*', so that {@code order:10086} and {@code order:10087} are both {@code order:*}.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public final class KeyPatterns {
+
+    private KeyPatterns() {
+    }
+
+    /**
+     * The pattern of the lock key.
+     *
+     * @param lockKey lock key
+     * @return key pattern, the key itself if no segment holds a digit
+     */
+    public static String of(String lockKey) {
+        StringBuilder pattern = null;
+        int segmentStart = 0;
+        for (int i = 0; i <= lockKey.length(); i++) {
+            if (i < lockKey.length() && lockKey.charAt(i) != ':') {
+                continue;
+            }
+            boolean variable = false;
+            for (int j = segmentStart; j < i && !variable; j++) {
+                variable = Character.isDigit(lockKey.charAt(j));
+            }
+            if (variable && pattern == null) {
+                pattern = new StringBuilder(lockKey.length()).append(lockKey, 0, segmentStart);
+            }
+            if (pattern != null) {
+                if (variable) {
+                    pattern.append('*');
+                } else {
+                    pattern.append(lockKey, segmentStart, i);
+                }
+                if (i < lockKey.length()) {
+                    pattern.append(':');
+                }
+            }
+            segmentStart = i + 1;
+        }
+        return pattern == null ? lockKey : pattern.toString();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.observe;
+
+/**
+ * Receives the outcome of the lock operations, e.g. to record metrics. The callbacks run on
+ * the locking threads and the renewal threads, so they must be cheap and must not throw.
+ * Without an observer the locks do no timing at all.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public interface LockObserver {
+
+    /**
+     * Called once a try lock that went to redis returns.
+     *
+     * @param lockKey   lock key
+     * @param acquired  true if locked, false if timeout or failed
+     * @param attempts  lock attempts made in redis
+     * @param waitNanos time spent in try lock
+     */
+    default void onAcquire(String lockKey, boolean acquired, int attempts, long waitNanos) {
+    }
+
+    /**
+     * Called once the lock is fully released by its holder, the nested releases are not reported.
+     *
+     * @param lockKey   lock key
+     * @param holdNanos time from acquired to released
+     */
+    default void onRelease(String lockKey, long holdNanos) {
+    }
+
+    /**
+     * Called instead of {@link #onRelease} once a lock is dropped as lost, i.e. its lease ran out
+     * before it was released, so that every lock acquired ends in one of the two.
+     *
+     * @param lockKey lock key
+     */
+    default void onLost(String lockKey) {
+    }
+
+    /**
+     * Called once a lease renewal is done.
+     *
+     * @param lockKey lock key
+     * @param renewed true if renewed, false if the lock is found lost
+     */
+    default void onRenewal(String lockKey, boolean renewed) {
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.pubsub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared subscription to the lock release channels. The unlock script publishes on
+ * {@link #channel(String)} once a lock is fully released, and the waiters parked on
+ * that lock key are woken up to retry right away. A channel is only subscribed while
+ * the key has local waiters, so a client receives the releases of the keys it waits for.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class LockSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(LockSubscriber.class);
+
+    public static final String CHANNEL_PREFIX = "dlock:channel:";
+    /**
+     * message published when all the waiters should retry, e.g. a read lock is granted to many at once.
+     */
+    public static final String SIGNAL_ALL = "all";
+
+    private final RedisMessageListenerContainer container;
+    private final ConcurrentMap<String, LockEntry> entries = new ConcurrentHashMap<>();
+
+    public LockSubscriber(RedisConnectionFactory connectionFactory) {
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    /**
+     * The release channel of the given lock key.
+     *
+     * @param lockKey lock key
+     * @return channel name
+     */
+    public static String channel(String lockKey) {
+        return CHANNEL_PREFIX + lockKey;
+    }
+
+    /**
+     * Register the current waiter on the lock key, the first waiter of the key subscribes its
+     * channel. Releases published after this call are not lost, so it must be called before
+     * the lock attempt that the waiter retries. It may block until the channel is subscribed.
+     *
+     * @param lockKey lock key
+     * @return entry to wait on, must be handed back with {@link #unsubscribe(String, LockEntry)}
+     */
+    public LockEntry subscribe(String lockKey) {
+        LockEntry entry = entries.compute(lockKey, (key, current) -> {
+            if (current == null) {
+                current = new LockEntry(new ChannelTopic(channel(key)));
+            }
+            current.waiters++;
+            return current;
+        });
+        entry.listen(container);
+        return entry;
+    }
+
+    /**
+     * Deregister the waiter, the channel is unsubscribed once the last waiter of the key leaves.
+     *
+     * @param lockKey lock key
+     * @param entry   entry returned by {@link #subscribe(String)}
+     */
+    public void unsubscribe(String lockKey, LockEntry entry) {
+        boolean last = entries.computeIfPresent(lockKey, (key, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            return --current.waiters == 0 ? null : current;
+        }) == null;
+        if (last) {
+            entry.stopListening(container);
+        }
+    }
+
+    /**
+     * Stop the subscription.
+     */
+    public void shutdown() {
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("stop lock subscriber fail: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Waiters of one lock key, a release wakes up one of them. Each entry listens with its own
+     * listener, so an entry left by its last waiter never drops the channel of a newer one.
+     */
+    public static class LockEntry {
+
+        private final Semaphore latch = new Semaphore(0);
+        private final Queue<CompletableFuture<Boolean>> asyncWaiters = new ConcurrentLinkedQueue<>();
+        private final ChannelTopic topic;
+        private final MessageListener listener = this::onRelease;
+        /**
+         * guards the channel subscription, held while the container subscribes.
+         */
+        private final ReentrantLock listenLock = new ReentrantLock();
+        private boolean listening;
+        private int waiters;
+
+        LockEntry(ChannelTopic topic) {
+            this.topic = topic;
+        }
+
+        /**
+         * Wait for the lock release notification.
+         *
+         * @param timeoutMillis max wait time
+         * @return true if notified, false if timeout
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public boolean await(long timeoutMillis) throws InterruptedException {
+            return latch.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Wait for the lock release notification without blocking the caller.
+         *
+         * @param timeoutMillis max wait time
+         * @return completed with true if notified, false if timeout
+         */
+        public CompletableFuture<Boolean> awaitAsync(long timeoutMillis) {
+            if (latch.tryAcquire()) {
+                return CompletableFuture.completedFuture(true);
+            }
+            CompletableFuture<Boolean> waiter = new CompletableFuture<>();
+            asyncWaiters.add(waiter);
+            waiter.completeOnTimeout(false, timeoutMillis, TimeUnit.MILLISECONDS)
+                    .whenComplete((notified, e) -> asyncWaiters.remove(waiter));
+            return waiter;
+        }
+
+        void signal() {
+            CompletableFuture<Boolean> waiter;
+            while ((waiter = asyncWaiters.poll()) != null) {
+                if (waiter.complete(true)) {
+                    return;
+                }
+            }
+            latch.release();
+        }
+
+        void signalAll() {
+            CompletableFuture<Boolean> waiter;
+            while ((waiter = asyncWaiters.poll()) != null) {
+                waiter.complete(true);
+            }
+            latch.release(Math.max(1, latch.getQueueLength()));
+        }
+
+        /**
+         * Subscribe the channel of the key, only done by the first waiter.
+         */
+        void listen(RedisMessageListenerContainer container) {
+            listenLock.lock();
+            try {
+                if (!listening) {
+                    container.addMessageListener(listener, topic);
+                    listening = true;
+                }
+            } finally {
+                listenLock.unlock();
+            }
+        }
+
+        /**
+         * Unsubscribe the channel of the key, once the last waiter has left.
+         */
+        void stopListening(RedisMessageListenerContainer container) {
+            listenLock.lock();
+            try {
+                if (listening) {
+                    container.removeMessageListener(listener, topic);
+                    listening = false;
+                }
+            } finally {
+                listenLock.unlock();
+            }
+        }
+
+        private void onRelease(Message message, byte[] pattern) {
+            if (SIGNAL_ALL.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+                this.signalAll();
+            } else {
+                this.signal();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.renewal;
+
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.observe.KeyPatterns;
+import com.lazycece.dlock.core.observe.LockObserver;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Picks the lease of a lock from the hold durations seen for its key pattern (see {@link KeyPatterns}).
+ * <p>
+ * The lease is the configured percentile of the durations times the configured factor. The renewal
+ * of a lease is first due at a third of it, so with the default factor of 3 the holds up to the
+ * percentile never renew and the longer ones are kept by the renewal engine. The lease is never below
+ * the renewal threshold, so that every adaptive lease is renewed, and never above the max lease.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class AdaptiveLease implements LockObserver {
+
+    private final DLockConfig lockConfig;
+    private final ConcurrentMap<String, DurationHistogram> histograms = new ConcurrentHashMap<>();
+
+    public AdaptiveLease(DLockConfig lockConfig) {
+        this.lockConfig = lockConfig;
+    }
+
+    @Override
+    public void onRelease(String lockKey, long holdNanos) {
+        String pattern = KeyPatterns.of(lockKey);
+        DurationHistogram histogram = histograms.get(pattern);
+        if (histogram == null) {
+            if (histograms.size() >= lockConfig.getAdaptiveLeaseMaxKeyPatterns()) {
+                return;
+            }
+            histogram = histograms.computeIfAbsent(pattern, key -> new DurationHistogram());
+        }
+        histogram.record(TimeUnit.NANOSECONDS.toMillis(holdNanos));
+    }
+
+    /**
+     * The lease for the lock key.
+     *
+     * @param lockKey lock key
+     * @return lease millis, the max lease until enough holds of the key pattern are seen
+     */
+    public long leaseMillisTime(String lockKey) {
+        long maxLease = lockConfig.getAdaptiveLeaseMaxMillis();
+        DurationHistogram histogram = histograms.get(KeyPatterns.of(lockKey));
+        if (histogram == null || histogram.count() < lockConfig.getAdaptiveLeaseMinSamples()) {
+            return maxLease;
+        }
+        long quantile = histogram.quantile(lockConfig.getAdaptiveLeasePercentile());
+        long lease = (long) Math.ceil(quantile * lockConfig.getAdaptiveLeaseFactor());
+        return Math.min(Math.max(lease, lockConfig.getRenewalThreshold()), maxLease);
+    }
+
+    /**
+     * Hold durations in log-scaled millis buckets, four per power of two (about 19% wide), in fixed
+     * memory. All the counts are halved every {@link #DECAY_SAMPLES} samples so that the lease follows
+     * a changing workload.
+     */
+    static class DurationHistogram {
+
+        private static final int SUB_BUCKETS = 4;
+        private static final int BUCKETS = 26 * SUB_BUCKETS;
+        private static final long DECAY_SAMPLES = 10_000;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+
+        void record(long millis) {
+            int index = (int) (Math.log(Math.max(millis, 0) + 1) / Math.log(2) * SUB_BUCKETS);
+            buckets.incrementAndGet(Math.min(index, BUCKETS - 1));
+            if (count.incrementAndGet() % DECAY_SAMPLES == 0) {
+                this.decay();
+            }
+        }
+
+        long count() {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += buckets.get(i);
+            }
+            return total;
+        }
+
+        /**
+         * The upper bound of the bucket holding the quantile.
+         */
+        long quantile(double quantile) {
+            long total = this.count();
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        private static long upperBound(int index) {
+            return (long) Math.ceil(Math.pow(2, (double) (index + 1) / SUB_BUCKETS)) - 1;
+        }
+
+        private void decay() {
+            for (int i = 0; i < BUCKETS; i++) {
+                long value;
+                do {
+                    value = buckets.get(i);
+                } while (!buckets.compareAndSet(i, value, value / 2));
+            }
+        }
+    }
+}
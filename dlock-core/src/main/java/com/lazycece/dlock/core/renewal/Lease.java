@@ -0,0 +1,92 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.renewal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A held lock lease tracked by the {@link RenewalScheduler}.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class Lease {
+
+    private final String lockKey;
+    /**
+     * All the keys renewed together, a multi-key lock holds one lease over all its keys.
+     */
+    private final List<String> lockKeys;
+    private final String token;
+    private final long leaseMillisTime;
+    /**
+     * Called once the lease is found to be owned by others (or expired).
+     */
+    private final Runnable lostListener;
+    private volatile ScheduledFuture<?> future;
+    private volatile long nextRenewalTime;
+
+    public Lease(String lockKey, String token, long leaseMillisTime, Runnable lostListener) {
+        this(lockKey, Collections.singletonList(lockKey), token, leaseMillisTime, lostListener);
+    }
+
+    public Lease(String lockKey, List<String> lockKeys, String token, long leaseMillisTime, Runnable lostListener) {
+        this.lockKey = lockKey;
+        this.lockKeys = lockKeys;
+        this.token = token;
+        this.leaseMillisTime = leaseMillisTime;
+        this.lostListener = lostListener;
+    }
+
+    public String getLockKey() {
+        return lockKey;
+    }
+
+    public List<String> getLockKeys() {
+        return lockKeys;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public long getLeaseMillisTime() {
+        return leaseMillisTime;
+    }
+
+    void lost() {
+        lostListener.run();
+    }
+
+    ScheduledFuture<?> getFuture() {
+        return future;
+    }
+
+    void setFuture(ScheduledFuture<?> future) {
+        this.future = future;
+    }
+
+    long getNextRenewalTime() {
+        return nextRenewalTime;
+    }
+
+    void setNextRenewalTime(long nextRenewalTime) {
+        this.nextRenewalTime = nextRenewalTime;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.renewal;
+
+import com.lazycece.dlock.core.script.ScriptArgs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The keys and arguments of the renewal script: a token and lease pair per lock key, then the
+ * client clock the readers' own expire time is renewed with.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public final class RenewalArgs {
+
+    private final List<String> keys;
+    private final List<String> pairs;
+
+    public RenewalArgs(int size) {
+        this.keys = new ArrayList<>(size);
+        this.pairs = new ArrayList<>(size * 2);
+    }
+
+    /**
+     * Add a lock key to renew.
+     *
+     * @param lockKey         lock key
+     * @param token           owner token
+     * @param leaseMillisTime lease millis
+     * @return this
+     */
+    public RenewalArgs add(String lockKey, String token, long leaseMillisTime) {
+        keys.add(lockKey);
+        pairs.add(token);
+        pairs.add(ScriptArgs.millis(leaseMillisTime));
+        return this;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * The script arguments, the client clock is read at every call.
+     *
+     * @return arguments
+     */
+    public String[] getArgs() {
+        String[] args = pairs.toArray(new String[pairs.size() + 1]);
+        args[pairs.size()] = ScriptArgs.now();
+        return args;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.renewal;
+
+import com.lazycece.dlock.core.cluster.ClusterKeys;
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.observe.LockObserver;
+import com.lazycece.dlock.core.script.LuaScript;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import com.lazycece.dlock.core.script.ScriptRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The lease renewal engine shared by all the locks of a factory, renews every registered
+ * lease at a third of its lease time until it is cancelled or lost.
+ * <p>
+ * In batch mode the leases are not scheduled one by one, a single tick collects all the
+ * leases due and renews them through one script call.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class RenewalScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RenewalScheduler.class);
+
+    /**
+     * Max leases renewed by one script call, keeps the script short on a busy redis.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final ScriptRunner scriptRunner;
+    private final ScheduledExecutorService executor;
+    private final boolean batch;
+    private final boolean cluster;
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private volatile LockObserver lockObserver;
+
+    public RenewalScheduler(StringRedisTemplate redisTemplate, DLockConfig lockConfig) {
+        this.scriptRunner = ScriptRegistry.runner(redisTemplate, lockConfig.getScriptBackend());
+        ThreadFactory threadFactory = lockConfig.isEnableVirtualThreads() ? virtualThreadFactory() : null;
+        if (threadFactory == null) {
+            AtomicInteger index = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "dlock-renewal-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(Math.max(lockConfig.getRenewalPoolSize(), 1), threadFactory);
+        // cancelled leases must not stay in the queue until their next tick.
+        executor.setRemoveOnCancelPolicy(true);
+        this.executor = executor;
+
+        this.batch = lockConfig.isEnableBatchRenewal();
+        this.cluster = lockConfig.isEnableCluster();
+        if (batch) {
+            long tick = lockConfig.getRenewalTickMillis();
+            executor.scheduleWithFixedDelay(this::renewBatch, tick, tick, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void setLockObserver(LockObserver lockObserver) {
+        this.lockObserver = lockObserver;
+    }
+
+    /**
+     * Start renewing the lease.
+     *
+     * @param lease lease
+     */
+    public void register(Lease lease) {
+        long period = lease.getLeaseMillisTime() / 3;
+        if (batch) {
+            lease.setNextRenewalTime(System.currentTimeMillis() + period);
+            leases.add(lease);
+        } else {
+            lease.setFuture(executor.scheduleAtFixedRate(() -> this.renew(Collections.singletonList(lease))
+                    , period, period, TimeUnit.MILLISECONDS));
+        }
+        log.debug("lock renewal service start, lockKey = {}", lease.getLockKey());
+    }
+
+    /**
+     * Stop renewing the lease.
+     *
+     * @param lease lease
+     */
+    public void cancel(Lease lease) {
+        if (batch) {
+            leases.remove(lease);
+            return;
+        }
+        ScheduledFuture<?> future = lease.getFuture();
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Stop the renewal engine, the leases held are no longer renewed.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        leases.clear();
+    }
+
+    /**
+     * Renew all the leases due in this tick, {@link #BATCH_SIZE} leases per script call. In cluster
+     * mode the leases are grouped by hash slot first, as one script only reaches the keys of one slot.
+     */
+    private void renewBatch() {
+        long now = System.currentTimeMillis();
+        List<Lease> due = new ArrayList<>();
+        for (Lease lease : leases) {
+            if (lease.getNextRenewalTime() <= now) {
+                due.add(lease);
+            }
+        }
+        if (!cluster) {
+            this.renewInChunks(due);
+            return;
+        }
+        Map<Integer, List<Lease>> slots = new HashMap<>();
+        for (Lease lease : due) {
+            slots.computeIfAbsent(ClusterKeys.slot(lease.getLockKeys().get(0)), slot -> new ArrayList<>()).add(lease);
+        }
+        for (List<Lease> slotLeases : slots.values()) {
+            this.renewInChunks(slotLeases);
+        }
+    }
+
+    private void renewInChunks(List<Lease> due) {
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            this.renew(due.subList(from, Math.min(from + BATCH_SIZE, due.size())));
+        }
+    }
+
+    /**
+     * Renew the leases through one script call, the script only extends the locks still
+     * owned by the lease token.
+     */
+    private void renew(List<Lease> batchLeases) {
+        RenewalArgs renewalArgs = new RenewalArgs(batchLeases.size());
+        for (Lease lease : batchLeases) {
+            for (String lockKey : lease.getLockKeys()) {
+                renewalArgs.add(lockKey, lease.getToken(), lease.getLeaseMillisTime());
+            }
+        }
+
+        try {
+            List<?> results = scriptRunner.execute(ScriptRegistry.RENEWAL, renewalArgs.getKeys(),
+                    (Object[]) renewalArgs.getArgs());
+            long now = System.currentTimeMillis();
+            int index = 0;
+            for (Lease lease : batchLeases) {
+                // a lease is renewed only if all its keys are still owned.
+                boolean renewed = results != null;
+                for (int i = 0; i < lease.getLockKeys().size(); i++, index++) {
+                    renewed = renewed && LuaScript.SUCCESS.equals(results.get(index));
+                }
+                LockObserver observer = lockObserver;
+                if (observer != null) {
+                    observer.onRenewal(lease.getLockKey(), renewed);
+                }
+                if (renewed) {
+                    // current own, renewed
+                    lease.setNextRenewalTime(now + lease.getLeaseMillisTime() / 3);
+                    log.debug("lock renewal successful, lockKey = {}", lease.getLockKey());
+                } else {
+                    // lost lock, to stop renew
+                    log.debug("not owned lock, stop renewal service, lockKey = {}", lease.getLockKey());
+                    this.cancel(lease);
+                    lease.lost();
+                }
+            }
+        } catch (Exception e) {
+            // renewal failed, print log.
+            log.error("lock renewals fail: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Virtual thread factory on java 21+, null if virtual threads are not available.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "dlock-renewal-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("virtual threads are not available, renewal falls back to platform threads.");
+            return null;
+        }
+    }
+}
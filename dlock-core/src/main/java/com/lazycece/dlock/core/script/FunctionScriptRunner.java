@@ -0,0 +1,246 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.script;
+
+import com.lazycece.dlock.core.exception.DLockException;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs the scripts as redis functions (redis 7+) with FCALL. All the scripts are registered by
+ * one library loaded with FUNCTION LOAD, which redis persists and replicates, so there is no
+ * NOSCRIPT after a restart or a failover.
+ * <p>
+ * The library and function names carry a hash of the scripts, so that clients of different
+ * versions do not replace each other's library during a rolling upgrade. A library that is lost
+ * anyway (FUNCTION FLUSH, a failover to a node without it) is loaded again on the first call.
+ * <p>
+ * The commands are sent through the lettuce native connection, as the lettuce version in use has
+ * no functions api of its own.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class FunctionScriptRunner implements ScriptRunner {
+
+    public static final String LIBRARY_NAME = "dlock_" + version();
+
+    /**
+     * function names by script.
+     */
+    private static final Map<RedisScript<?>, String> FUNCTIONS = new IdentityHashMap<>();
+
+    static {
+        ScriptRegistry.scripts().forEach((name, script) -> FUNCTIONS.put(script, functionName(name)));
+    }
+
+    private final StringRedisTemplate redisTemplate;
+
+    public FunctionScriptRunner(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * The function name of the script in the library.
+     *
+     * @param name script name in the registry
+     * @return function name
+     */
+    public static String functionName(String name) {
+        return LIBRARY_NAME + "_" + name.replace('-', '_');
+    }
+
+    /**
+     * The hash of the scripts, the names of the scripts are part of it as they name the functions.
+     */
+    private static String version() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            ScriptRegistry.scripts().forEach((name, script) -> {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update(script.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+            });
+            return HexFormat.of().formatHex(digest.digest(), 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The library code, every script becomes a function taking the same KEYS and ARGV.
+     *
+     * @return library code
+     */
+    public static String library() {
+        StringBuilder code = new StringBuilder("#!lua name=").append(LIBRARY_NAME).append('\n');
+        for (Map.Entry<String, RedisScript<?>> script : ScriptRegistry.scripts().entrySet()) {
+            code.append("redis.register_function('").append(functionName(script.getKey()))
+                    .append("', function(KEYS, ARGV)\n")
+                    .append(script.getValue().getScriptAsString())
+                    .append("\nend)\n");
+        }
+        return code.toString();
+    }
+
+    @Override
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        String function = FUNCTIONS.get(script);
+        if (function == null) {
+            throw new IllegalArgumentException("not a dlock script: " + script.getSha1());
+        }
+        try {
+            return this.call(function, script, keys, args);
+        } catch (DLockException e) {
+            if (!(e.getCause() instanceof RedisCommandExecutionException cause)
+                    || cause.getMessage() == null || !cause.getMessage().contains("Function not found")) {
+                throw e;
+            }
+            // the library is gone, load it and retry once as EVALSHA does on NOSCRIPT.
+            this.loadLibrary();
+            return this.call(function, script, keys, args);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T call(String function, RedisScript<T> script, List<String> keys, Object... args) {
+        CommandArgs<byte[], byte[]> commandArgs = new CommandArgs<>(ByteArrayCodec.INSTANCE)
+                .add(function)
+                .add(keys.size());
+        for (String key : keys) {
+            // marked as keys, so that lettuce routes the call to the slot owner on cluster.
+            commandArgs.addKey(key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object arg : args) {
+            commandArgs.addValue(String.valueOf(arg).getBytes(StandardCharsets.UTF_8));
+        }
+        CommandOutput<byte[], byte[], ?> output = List.class.equals(script.getResultType())
+                ? new NestedMultiOutput<>(ByteArrayCodec.INSTANCE) : new IntegerOutput<>(ByteArrayCodec.INSTANCE);
+        return (T) redisTemplate.execute((RedisCallback<Object>) connection ->
+                await(commands(connection).dispatch(FunctionCommand.FCALL, output, commandArgs)));
+    }
+
+    /**
+     * Load the library on every master on cluster. A library of the same version is replaced,
+     * the ones of other versions are left to the clients still using them.
+     */
+    public void loadLibrary() {
+        byte[] code = library().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            for (BaseRedisAsyncCommands<byte[], byte[]> node : upstreams(connection)) {
+                CommandArgs<byte[], byte[]> commandArgs = new CommandArgs<>(ByteArrayCodec.INSTANCE)
+                        .add("LOAD").add("REPLACE").add(code);
+                await(node.dispatch(FunctionCommand.FUNCTION, new StatusOutput<>(ByteArrayCodec.INSTANCE), commandArgs));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Whether the library is loaded, on every master on cluster.
+     *
+     * @return result
+     */
+    public boolean isLibraryLoaded() {
+        Boolean loaded = redisTemplate.execute((RedisCallback<Boolean>) connection -> {
+            for (BaseRedisAsyncCommands<byte[], byte[]> node : upstreams(connection)) {
+                CommandArgs<byte[], byte[]> commandArgs = new CommandArgs<>(ByteArrayCodec.INSTANCE)
+                        .add("LIST").add("LIBRARYNAME").add(LIBRARY_NAME);
+                List<Object> libraries = await(node.dispatch(FunctionCommand.FUNCTION,
+                        new NestedMultiOutput<>(ByteArrayCodec.INSTANCE), commandArgs));
+                if (libraries == null || libraries.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(loaded);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BaseRedisAsyncCommands<byte[], byte[]> commands(RedisConnection connection) {
+        Object nativeConnection = connection.getNativeConnection();
+        if (!(nativeConnection instanceof BaseRedisAsyncCommands)) {
+            throw new DLockException("redis functions backend needs the lettuce driver.");
+        }
+        return (BaseRedisAsyncCommands<byte[], byte[]>) nativeConnection;
+    }
+
+    /**
+     * The commands of every upstream node, the cluster topology is read through spring data redis.
+     */
+    private static List<BaseRedisAsyncCommands<byte[], byte[]>> upstreams(RedisConnection connection) {
+        BaseRedisAsyncCommands<byte[], byte[]> commands = commands(connection);
+        List<BaseRedisAsyncCommands<byte[], byte[]>> nodes = new ArrayList<>();
+        if (commands instanceof RedisAdvancedClusterAsyncCommands<byte[], byte[]> cluster
+                && connection instanceof RedisClusterConnection clusterConnection) {
+            for (RedisClusterNode node : clusterConnection.clusterGetNodes()) {
+                if (node.isMaster()) {
+                    nodes.add(cluster.getConnection(node.getId()));
+                }
+            }
+        } else {
+            nodes.add(commands);
+        }
+        return nodes;
+    }
+
+    private static <T> T await(RedisFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DLockException("redis function call interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DLockException("redis function call fail: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private enum FunctionCommand implements ProtocolKeyword {
+        FCALL, FUNCTION;
+
+        private final byte[] bytes = name().getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        public byte[] getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -17,6 +17,15 @@
 package com.lazycece.dlock.core.script;
 
 /**
+ * The lock is stored as a redis hash, the field is the owner token and the value is its hold count.
+ * <p>
+ * The lease lives only in the key's TTL: no expire time is stored in the value and the scripts never call
+ * TIME, the client clock is passed in as an argument where one is needed. A release only touches the hold
+ * count and keeps the TTL as it is, so the scripts are deterministic and replicated as their few effects.
+ * The one exception is the read lock, shared by readers of different leases under one TTL: each reader
+ * also keeps its own expire time, by the client clock, in an {@code expire:<token>} field, and the readers
+ * expired are pruned before the lock is taken or released.
+ *
  * @author lazycece
  * @date 2024/9/14
  */
@@ -24,48 +33,395 @@ public class LuaScript {
 
     public static final Long SUCCESS = 1L;
 
-    // lock lua script
+    // lock lua script, failure returns the negative remaining lease millis of the current holder
     public static final String LOCK_SCRIPT =
                     "local lockKey = KEYS[1]\n" +
-                    "local lockValue = ARGV[1]\n" +
-                    "local expireTime = tonumber(ARGV[2])\n" +
-                    "local currentValue = redis.call('get', lockKey)\n" +
-                    "if currentValue == false then\n" +
-                    "    local newValue = cjson.decode(lockValue)\n" +
-                    "    newValue.expireTime = redis.call('time')[1] * 1000 + expireTime\n" +
-                    "    redis.call('set', lockKey, cjson.encode(newValue), 'PX', expireTime)\n" +
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = ARGV[2]\n" +
+                    "if redis.call('exists', lockKey) == 0 or redis.call('hexists', lockKey, token) == 1 then\n" +
+                    "    redis.call('hincrby', lockKey, token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
                     "    return 1\n" +
+                    "end\n" +
+                    "return -math.max(redis.call('pttl', lockKey), 0)";
+
+    // unlock lua script, publish on the release channel once the lock is fully released
+    public static final String UNLOCK_SCRIPT =
+                    "local lockKey = KEYS[1]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local channel = ARGV[2]\n" +
+                    "if redis.call('hexists', lockKey, token) == 0 then\n" +
+                    "    return 1 - redis.call('exists', lockKey)\n" +
+                    "end\n" +
+                    "if redis.call('hincrby', lockKey, token, -1) > 0 then\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "redis.call('del', lockKey)\n" +
+                    "redis.call('publish', channel, 0)\n" +
+                    "return 1";
+
+    // renewal lua script, renew every owned lock given, return 1 for renewed and 0 for lost one by one.
+    // the lease is only ever extended, as the read lock is shared by owners of different leases, and
+    // the own expire time of a reader is renewed too, with the client clock passed after the pairs
+    public static final String RENEWAL_SCRIPT =
+                    "local result = {}\n" +
+                    "local now = tonumber(ARGV[#KEYS * 2 + 1])\n" +
+                    "for i, lockKey in ipairs(KEYS) do\n" +
+                    "    local token = ARGV[i * 2 - 1]\n" +
+                    "    local leaseTime = tonumber(ARGV[i * 2])\n" +
+                    "    local expireAt = tonumber(redis.call('hget', lockKey, 'expire:' .. token))\n" +
+                    "    if expireAt ~= nil and now ~= nil and expireAt <= now then\n" +
+                    "        redis.call('hdel', lockKey, token, 'expire:' .. token)\n" +
+                    "        result[i] = 0\n" +
+                    "    elseif redis.call('hexists', lockKey, token) == 1 then\n" +
+                    "        if redis.call('pttl', lockKey) < leaseTime then\n" +
+                    "            redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "        end\n" +
+                    "        if expireAt ~= nil and now ~= nil then\n" +
+                    "            redis.call('hset', lockKey, 'expire:' .. token, now + leaseTime)\n" +
+                    "        end\n" +
+                    "        result[i] = 1\n" +
+                    "    else\n" +
+                    "        result[i] = 0\n" +
+                    "    end\n" +
+                    "end\n" +
+                    "return result";
+
+    // fair lock lua script, waiters queue up in a list with their timeouts in a sorted set, and
+    // failure returns the negative millis until around the waiter's turn
+    public static final String FAIR_LOCK_SCRIPT =
+                    "local lockKey = KEYS[1]\n" +
+                    "local queueKey = KEYS[2]\n" +
+                    "local timeoutKey = KEYS[3]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = ARGV[2]\n" +
+                    "local waitTime = tonumber(ARGV[3])\n" +
+                    "local currentTime = tonumber(ARGV[4])\n" +
+                    "while true do\n" +
+                    "    local first = redis.call('lindex', queueKey, 0)\n" +
+                    "    if first == false then\n" +
+                    "        break\n" +
+                    "    end\n" +
+                    "    local firstTimeout = tonumber(redis.call('zscore', timeoutKey, first))\n" +
+                    "    if firstTimeout ~= nil and firstTimeout > currentTime then\n" +
+                    "        break\n" +
+                    "    end\n" +
+                    "    redis.call('zrem', timeoutKey, first)\n" +
+                    "    redis.call('lpop', queueKey)\n" +
+                    "end\n" +
+                    "if redis.call('exists', lockKey) == 0 and (redis.call('exists', queueKey) == 0 or redis.call('lindex', queueKey, 0) == token) then\n" +
+                    "    redis.call('lpop', queueKey)\n" +
+                    "    redis.call('zrem', timeoutKey, token)\n" +
+                    "    local waiters = redis.call('zrange', timeoutKey, 0, -1)\n" +
+                    "    for i = 1, #waiters do\n" +
+                    "        redis.call('zincrby', timeoutKey, -waitTime, waiters[i])\n" +
+                    "    end\n" +
+                    "    redis.call('hset', lockKey, token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "if redis.call('hexists', lockKey, token) == 1 then\n" +
+                    "    redis.call('hincrby', lockKey, token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "local timeout = redis.call('zscore', timeoutKey, token)\n" +
+                    "if timeout ~= false then\n" +
+                    "    return -math.max(tonumber(timeout) - waitTime - currentTime, 0)\n" +
+                    "end\n" +
+                    "local last = redis.call('lindex', queueKey, -1)\n" +
+                    "local ttl\n" +
+                    "if last ~= false and last ~= token then\n" +
+                    "    ttl = tonumber(redis.call('zscore', timeoutKey, last)) - currentTime\n" +
                     "else\n" +
-                    "    local map = cjson.decode(currentValue)\n" +
-                    "    if map.token == cjson.decode(lockValue).token then\n" +
-                    "        map.count = map.count + 1\n" +
-                    "        map.expireTime = redis.call('time')[1] * 1000 + expireTime\n" +
-                    "        redis.call('set', lockKey, cjson.encode(map), 'PX', expireTime)\n" +
+                    "    ttl = redis.call('pttl', lockKey)\n" +
+                    "end\n" +
+                    "redis.call('zadd', timeoutKey, ttl + waitTime + currentTime, token)\n" +
+                    "redis.call('rpush', queueKey, token)\n" +
+                    "return -math.max(ttl, 0)";
+
+    // fair unlock lua script, publish to the first waiter in the queue once the lock is released
+    public static final String FAIR_UNLOCK_SCRIPT =
+                    "local lockKey = KEYS[1]\n" +
+                    "local queueKey = KEYS[2]\n" +
+                    "local timeoutKey = KEYS[3]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local channel = ARGV[2]\n" +
+                    "local currentTime = tonumber(ARGV[3])\n" +
+                    "while true do\n" +
+                    "    local first = redis.call('lindex', queueKey, 0)\n" +
+                    "    if first == false then\n" +
+                    "        break\n" +
+                    "    end\n" +
+                    "    local firstTimeout = tonumber(redis.call('zscore', timeoutKey, first))\n" +
+                    "    if firstTimeout ~= nil and firstTimeout > currentTime then\n" +
+                    "        break\n" +
+                    "    end\n" +
+                    "    redis.call('zrem', timeoutKey, first)\n" +
+                    "    redis.call('lpop', queueKey)\n" +
+                    "end\n" +
+                    "if redis.call('exists', lockKey) == 1 then\n" +
+                    "    if redis.call('hexists', lockKey, token) == 0 then\n" +
+                    "        return 0\n" +
+                    "    end\n" +
+                    "    if redis.call('hincrby', lockKey, token, -1) > 0 then\n" +
                     "        return 1\n" +
                     "    end\n" +
-                    "    return 0\n" +
-                    "end";
+                    "    redis.call('del', lockKey)\n" +
+                    "end\n" +
+                    "local next = redis.call('lindex', queueKey, 0)\n" +
+                    "if next ~= false then\n" +
+                    "    redis.call('publish', channel .. ':' .. next, 0)\n" +
+                    "end\n" +
+                    "return 1";
 
-    // unlock lua script
-    public static final String UNLOCK_SCRIPT =
+    // fair lock cancel lua script, leave the queue and move the later waiters forward
+    public static final String FAIR_CANCEL_SCRIPT =
+                    "local lockKey = KEYS[1]\n" +
+                    "local queueKey = KEYS[2]\n" +
+                    "local timeoutKey = KEYS[3]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local channel = ARGV[2]\n" +
+                    "local waitTime = tonumber(ARGV[3])\n" +
+                    "local queue = redis.call('lrange', queueKey, 0, -1)\n" +
+                    "local i = 1\n" +
+                    "while i <= #queue and queue[i] ~= token do\n" +
+                    "    i = i + 1\n" +
+                    "end\n" +
+                    "for j = i + 1, #queue do\n" +
+                    "    redis.call('zincrby', timeoutKey, -waitTime, queue[j])\n" +
+                    "end\n" +
+                    "redis.call('zrem', timeoutKey, token)\n" +
+                    "redis.call('lrem', queueKey, 0, token)\n" +
+                    "if i == 1 and #queue > 1 and redis.call('exists', lockKey) == 0 then\n" +
+                    "    redis.call('publish', channel .. ':' .. queue[2], 0)\n" +
+                    "end\n" +
+                    "return 1";
+
+    // prune the readers expired by the client clock given, i.e. crashed ones whose field would stay while
+    // the others renew the shared TTL; returns the millis until the next reader expires, -1 if none
+    private static final String PRUNE_READERS =
+                    "local function pruneReaders(lockKey, now)\n" +
+                    "    local nearest = -1\n" +
+                    "    local fields = redis.call('hgetall', lockKey)\n" +
+                    "    for i = 1, #fields, 2 do\n" +
+                    "        if string.sub(fields[i], 1, 7) == 'expire:' then\n" +
+                    "            local left = tonumber(fields[i + 1]) - now\n" +
+                    "            if left <= 0 then\n" +
+                    "                redis.call('hdel', lockKey, fields[i], string.sub(fields[i], 8))\n" +
+                    "            elseif nearest < 0 or left < nearest then\n" +
+                    "                nearest = left\n" +
+                    "            end\n" +
+                    "        end\n" +
+                    "    end\n" +
+                    "    if redis.call('hlen', lockKey) == 1 then\n" +
+                    "        redis.call('del', lockKey)\n" +
+                    "    end\n" +
+                    "    return nearest\n" +
+                    "end\n";
+
+    // read lock lua script, shared by the readers and by the write owner, each reader expires on its own
+    public static final String READ_LOCK_SCRIPT =
+                    PRUNE_READERS +
                     "local lockKey = KEYS[1]\n" +
-                    "local lockValue = ARGV[1]\n" +
-                    "local currentValue = redis.call('get', lockKey)\n" +
-                    "if currentValue == false then\n" +
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = tonumber(ARGV[2])\n" +
+                    "local writeToken = ARGV[3]\n" +
+                    "local now = tonumber(ARGV[4])\n" +
+                    "local expireField = 'expire:' .. token\n" +
+                    "pruneReaders(lockKey, now)\n" +
+                    "if redis.call('exists', lockKey) == 0 then\n" +
+                    "    redis.call('hset', lockKey, 'mode', 'read', token, 1, expireField, now + leaseTime)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
                     "    return 1\n" +
-                    "else\n" +
-                    "    local map = cjson.decode(currentValue)\n" +
-                    "    if map.token == cjson.decode(lockValue).token then\n" +
-                    "        if map.count > 1 then\n" +
-                    "            map.count = map.count - 1\n" +
-                    "            redis.call('set', lockKey, cjson.encode(map), 'PX', map.expireTime - redis.call('time')[1] * 1000)\n" +
-                    "            return 1\n" +
-                    "        else\n" +
-                    "            redis.call('del', lockKey)\n" +
-                    "            return 1\n" +
+                    "end\n" +
+                    "local mode = redis.call('hget', lockKey, 'mode')\n" +
+                    "if mode == 'read' or (mode == 'write' and redis.call('hexists', lockKey, writeToken) == 1) then\n" +
+                    "    redis.call('hincrby', lockKey, token, 1)\n" +
+                    "    local expireAt = tonumber(redis.call('hget', lockKey, expireField))\n" +
+                    "    if expireAt == nil or expireAt < now + leaseTime then\n" +
+                    "        redis.call('hset', lockKey, expireField, now + leaseTime)\n" +
+                    "    end\n" +
+                    "    if redis.call('pttl', lockKey) < leaseTime then\n" +
+                    "        redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    end\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "return -math.max(redis.call('pttl', lockKey), 0)";
+
+    // write lock lua script, exclusive to one owner, failure returns the negative millis until the
+    // lock or the reader expiring first is gone
+    public static final String WRITE_LOCK_SCRIPT =
+                    PRUNE_READERS +
+                    "local lockKey = KEYS[1]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = tonumber(ARGV[2])\n" +
+                    "local now = tonumber(ARGV[3])\n" +
+                    "local nearest = pruneReaders(lockKey, now)\n" +
+                    "if redis.call('exists', lockKey) == 0 then\n" +
+                    "    redis.call('hset', lockKey, 'mode', 'write', token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "if redis.call('hget', lockKey, 'mode') == 'write' and redis.call('hexists', lockKey, token) == 1 then\n" +
+                    "    redis.call('hincrby', lockKey, token, 1)\n" +
+                    "    if redis.call('pttl', lockKey) < leaseTime then\n" +
+                    "        redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    end\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "local ttl = redis.call('pttl', lockKey)\n" +
+                    "if nearest >= 0 and nearest < ttl then\n" +
+                    "    ttl = nearest\n" +
+                    "end\n" +
+                    "return -math.max(ttl, 0)";
+
+    // read-write unlock lua script, the remaining reads of the write owner turn the lock into read mode
+    // once the write is released, and all the waiters are woken up as many readers may go on at once.
+    // the readers expired are pruned first, so that they never keep the lock from being released
+    public static final String READ_WRITE_UNLOCK_SCRIPT =
+                    PRUNE_READERS +
+                    "local lockKey = KEYS[1]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local channel = ARGV[2]\n" +
+                    "local mode = ARGV[3]\n" +
+                    "local now = tonumber(ARGV[4])\n" +
+                    "if redis.call('hexists', lockKey, token) == 0 then\n" +
+                    "    return 1 - redis.call('exists', lockKey)\n" +
+                    "end\n" +
+                    "if redis.call('hincrby', lockKey, token, -1) > 0 then\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "redis.call('hdel', lockKey, token, 'expire:' .. token)\n" +
+                    "pruneReaders(lockKey, now)\n" +
+                    "if redis.call('exists', lockKey) == 0 then\n" +
+                    "    redis.call('publish', channel, 'all')\n" +
+                    "elseif mode == 'write' then\n" +
+                    "    redis.call('hset', lockKey, 'mode', 'read')\n" +
+                    "    redis.call('publish', channel, 'all')\n" +
+                    "end\n" +
+                    "return 1";
+
+    // semaphore acquire lua script, the holders' permits expiring with their leases are dropped before counting,
+    // and failure returns the negative remaining lease millis of the holder expiring first
+    public static final String SEMAPHORE_ACQUIRE_SCRIPT =
+                    "local semaphoreKey = KEYS[1]\n" +
+                    "local permitKey = KEYS[2]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local permitKeyPrefix = ARGV[2]\n" +
+                    "local totalPermits = tonumber(ARGV[3])\n" +
+                    "local permits = tonumber(ARGV[4])\n" +
+                    "local leaseTime = ARGV[5]\n" +
+                    "local used = 0\n" +
+                    "local minTtl = -1\n" +
+                    "for _, holder in ipairs(redis.call('smembers', semaphoreKey)) do\n" +
+                    "    local held = redis.call('hget', permitKeyPrefix .. holder, holder)\n" +
+                    "    if held == false then\n" +
+                    "        redis.call('srem', semaphoreKey, holder)\n" +
+                    "    else\n" +
+                    "        used = used + tonumber(held)\n" +
+                    "        local ttl = redis.call('pttl', permitKeyPrefix .. holder)\n" +
+                    "        if minTtl < 0 or ttl < minTtl then\n" +
+                    "            minTtl = ttl\n" +
                     "        end\n" +
                     "    end\n" +
+                    "end\n" +
+                    "if used + permits > totalPermits then\n" +
+                    "    return -math.max(minTtl, 0)\n" +
+                    "end\n" +
+                    "redis.call('hincrby', permitKey, token, permits)\n" +
+                    "redis.call('pexpire', permitKey, leaseTime)\n" +
+                    "redis.call('sadd', semaphoreKey, token)\n" +
+                    "return 1";
+
+    // semaphore release lua script, publish on the release channel once the permits are given back,
+    // all the waiters are woken up when more than one permit is freed
+    public static final String SEMAPHORE_RELEASE_SCRIPT =
+                    "local semaphoreKey = KEYS[1]\n" +
+                    "local permitKey = KEYS[2]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local channel = ARGV[2]\n" +
+                    "redis.call('srem', semaphoreKey, token)\n" +
+                    "local released = tonumber(redis.call('hget', permitKey, token) or 0)\n" +
+                    "if redis.call('del', permitKey) == 0 then\n" +
                     "    return 0\n" +
-                    "end";
+                    "end\n" +
+                    "if released > 1 then\n" +
+                    "    redis.call('publish', channel, 'all')\n" +
+                    "else\n" +
+                    "    redis.call('publish', channel, 0)\n" +
+                    "end\n" +
+                    "return 1";
+
+    // multi lock lua script, lock all the keys or none, failure returns the negative remaining lease
+    // millis of the first key held by others and the index of that key
+    public static final String MULTI_LOCK_SCRIPT =
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = ARGV[2]\n" +
+                    "for i, lockKey in ipairs(KEYS) do\n" +
+                    "    if redis.call('exists', lockKey) == 1 and redis.call('hexists', lockKey, token) == 0 then\n" +
+                    "        return {-math.max(redis.call('pttl', lockKey), 0), i}\n" +
+                    "    end\n" +
+                    "end\n" +
+                    "for _, lockKey in ipairs(KEYS) do\n" +
+                    "    redis.call('hincrby', lockKey, token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "end\n" +
+                    "return {1, 0}";
+
+    // multi unlock lua script, release all the keys and publish on the release channel of each key fully released
+    public static final String MULTI_UNLOCK_SCRIPT =
+                    "local token = ARGV[1]\n" +
+                    "local channelPrefix = ARGV[2]\n" +
+                    "local result = 1\n" +
+                    "for _, lockKey in ipairs(KEYS) do\n" +
+                    "    if redis.call('hexists', lockKey, token) == 0 then\n" +
+                    "        result = math.min(result, 1 - redis.call('exists', lockKey))\n" +
+                    "    elseif redis.call('hincrby', lockKey, token, -1) <= 0 then\n" +
+                    "        redis.call('del', lockKey)\n" +
+                    "        redis.call('publish', channelPrefix .. lockKey, 0)\n" +
+                    "    end\n" +
+                    "end\n" +
+                    "return result";
+
+    // quorum lock lua script, not reentrant in redis so that retrying on a node is idempotent,
+    // failure returns the negative remaining lease millis of the current holder
+    public static final String QUORUM_LOCK_SCRIPT =
+                    "local lockKey = KEYS[1]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = ARGV[2]\n" +
+                    "if redis.call('exists', lockKey) == 0 then\n" +
+                    "    redis.call('hset', lockKey, token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "if redis.call('hexists', lockKey, token) == 1 then\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return 1\n" +
+                    "end\n" +
+                    "return -math.max(redis.call('pttl', lockKey), 0)";
+
+    // fenced lock lua script, a new holder gets the next value of the fence counter kept beside the lock,
+    // success returns the fence of the holder and failure the negative remaining lease millis of the holder.
+    // the counter expires fenceTtl after its last increment, never sooner than the lease
+    public static final String FENCED_LOCK_SCRIPT =
+                    "local lockKey = KEYS[1]\n" +
+                    "local fenceKey = KEYS[2]\n" +
+                    "local token = ARGV[1]\n" +
+                    "local leaseTime = ARGV[2]\n" +
+                    "local fenceTtl = tonumber(ARGV[3])\n" +
+                    "if redis.call('exists', lockKey) == 0 then\n" +
+                    "    local fence = redis.call('incr', fenceKey)\n" +
+                    "    redis.call('pexpire', fenceKey, math.max(fenceTtl, tonumber(leaseTime)))\n" +
+                    "    redis.call('hset', lockKey, token, 1, 'fence', fence)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return fence\n" +
+                    "end\n" +
+                    "if redis.call('hexists', lockKey, token) == 1 then\n" +
+                    "    redis.call('hincrby', lockKey, token, 1)\n" +
+                    "    redis.call('pexpire', lockKey, leaseTime)\n" +
+                    "    return tonumber(redis.call('hget', lockKey, 'fence'))\n" +
+                    "end\n" +
+                    "return -math.max(redis.call('pttl', lockKey), 0)";
 
 }
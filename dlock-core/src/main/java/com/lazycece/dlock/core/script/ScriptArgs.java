@@ -0,0 +1,99 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.script;
+
+/**
+ * Script arguments reused across calls, the lock hot path passes the same few leases over and over.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public final class ScriptArgs {
+
+    private static final int MILLIS_CACHE_SIZE = 64;
+    private static final MillisArg[] MILLIS_CACHE = new MillisArg[MILLIS_CACHE_SIZE];
+    private static final String[] COUNTS = new String[256];
+    /**
+     * the current time millis, shared by the calls made within the same millisecond.
+     */
+    private static volatile MillisArg now = new MillisArg(0);
+
+    static {
+        for (int i = 0; i < COUNTS.length; i++) {
+            COUNTS[i] = String.valueOf(i);
+        }
+    }
+
+    private ScriptArgs() {
+    }
+
+    /**
+     * The millis as a script argument. The recent values are cached in a small direct-mapped table,
+     * so repeating a lease does not build its string again.
+     *
+     * @param millis millis
+     * @return decimal string of the millis
+     */
+    public static String millis(long millis) {
+        int index = (int) (millis ^ (millis >>> 32)) & (MILLIS_CACHE_SIZE - 1);
+        MillisArg cached = MILLIS_CACHE[index];
+        if (cached != null && cached.millis == millis) {
+            return cached.arg;
+        }
+        // racy but safe, the entries are immutable and a lost update only costs a miss.
+        cached = new MillisArg(millis);
+        MILLIS_CACHE[index] = cached;
+        return cached.arg;
+    }
+
+    /**
+     * The current time millis as a script argument, e.g. the client clock of the reader expiry.
+     *
+     * @return decimal string of the current time millis
+     */
+    public static String now() {
+        long millis = System.currentTimeMillis();
+        MillisArg cached = now;
+        if (cached.millis == millis) {
+            return cached.arg;
+        }
+        cached = new MillisArg(millis);
+        now = cached;
+        return cached.arg;
+    }
+
+    /**
+     * The count as a script argument, e.g. permits, the small counts are built once.
+     *
+     * @param count count
+     * @return decimal string of the count
+     */
+    public static String count(int count) {
+        return count >= 0 && count < COUNTS.length ? COUNTS[count] : String.valueOf(count);
+    }
+
+    private static final class MillisArg {
+
+        private final long millis;
+        private final String arg;
+
+        private MillisArg(long millis) {
+            this.millis = millis;
+            this.arg = String.valueOf(millis);
+        }
+    }
+}
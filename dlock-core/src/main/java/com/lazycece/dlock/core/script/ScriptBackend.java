@@ -0,0 +1,35 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.script;
+
+/**
+ * How the lock scripts are run by redis.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public enum ScriptBackend {
+
+    /**
+     * EVALSHA, the script is sent in full if redis does not know it.
+     */
+    LUA,
+
+    /**
+     * FCALL of the dlock functions library loaded once, redis 7+.
+     */
+    FUNCTION
+}
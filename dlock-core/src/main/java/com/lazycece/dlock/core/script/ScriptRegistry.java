@@ -0,0 +1,209 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.script;
+
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All the lock scripts, run by sha1 (EVALSHA) and only sent in full if redis does not know the
+ * script. The registry loads them ahead (SCRIPT LOAD) at startup and again once a connection to
+ * redis is re-established, so the lock calls do not pay for the upload after a failover or a
+ * script flush. On redis cluster the scripts are loaded on every master by lettuce.
+ * <p>
+ * With the {@link ScriptBackend#FUNCTION} backend the functions library is loaded as well.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class ScriptRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ScriptRegistry.class);
+
+    /* redis script begin */
+    public static final RedisScript<Long> LOCK = RedisScript.of(LuaScript.LOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> UNLOCK = RedisScript.of(LuaScript.UNLOCK_SCRIPT, Long.class);
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> RENEWAL = RedisScript.of(LuaScript.RENEWAL_SCRIPT, List.class);
+    public static final RedisScript<Long> FAIR_LOCK = RedisScript.of(LuaScript.FAIR_LOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> FAIR_UNLOCK = RedisScript.of(LuaScript.FAIR_UNLOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> FAIR_CANCEL = RedisScript.of(LuaScript.FAIR_CANCEL_SCRIPT, Long.class);
+    public static final RedisScript<Long> READ_LOCK = RedisScript.of(LuaScript.READ_LOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> WRITE_LOCK = RedisScript.of(LuaScript.WRITE_LOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> READ_WRITE_UNLOCK = RedisScript.of(LuaScript.READ_WRITE_UNLOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> SEMAPHORE_ACQUIRE = RedisScript.of(LuaScript.SEMAPHORE_ACQUIRE_SCRIPT, Long.class);
+    public static final RedisScript<Long> SEMAPHORE_RELEASE = RedisScript.of(LuaScript.SEMAPHORE_RELEASE_SCRIPT, Long.class);
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> MULTI_LOCK = RedisScript.of(LuaScript.MULTI_LOCK_SCRIPT, List.class);
+    public static final RedisScript<Long> MULTI_UNLOCK = RedisScript.of(LuaScript.MULTI_UNLOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> QUORUM_LOCK = RedisScript.of(LuaScript.QUORUM_LOCK_SCRIPT, Long.class);
+    public static final RedisScript<Long> FENCED_LOCK = RedisScript.of(LuaScript.FENCED_LOCK_SCRIPT, Long.class);
+    /* redis script end */
+
+    private static final Map<String, RedisScript<?>> SCRIPTS = new LinkedHashMap<>();
+
+    static {
+        SCRIPTS.put("lock", LOCK);
+        SCRIPTS.put("unlock", UNLOCK);
+        SCRIPTS.put("renewal", RENEWAL);
+        SCRIPTS.put("fair-lock", FAIR_LOCK);
+        SCRIPTS.put("fair-unlock", FAIR_UNLOCK);
+        SCRIPTS.put("fair-cancel", FAIR_CANCEL);
+        SCRIPTS.put("read-lock", READ_LOCK);
+        SCRIPTS.put("write-lock", WRITE_LOCK);
+        SCRIPTS.put("read-write-unlock", READ_WRITE_UNLOCK);
+        SCRIPTS.put("semaphore-acquire", SEMAPHORE_ACQUIRE);
+        SCRIPTS.put("semaphore-release", SEMAPHORE_RELEASE);
+        SCRIPTS.put("multi-lock", MULTI_LOCK);
+        SCRIPTS.put("multi-unlock", MULTI_UNLOCK);
+        SCRIPTS.put("quorum-lock", QUORUM_LOCK);
+        SCRIPTS.put("fenced-lock", FENCED_LOCK);
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * the functions library runner, null unless the functions backend is used.
+     */
+    private final FunctionScriptRunner functionRunner;
+    private volatile Disposable reconnectListener;
+
+    public ScriptRegistry(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, ScriptBackend.LUA);
+    }
+
+    public ScriptRegistry(StringRedisTemplate redisTemplate, ScriptBackend backend) {
+        this.redisTemplate = redisTemplate;
+        this.functionRunner = backend == ScriptBackend.FUNCTION ? new FunctionScriptRunner(redisTemplate) : null;
+    }
+
+    /**
+     * The runner of the scripts on the given backend.
+     *
+     * @param redisTemplate redis template
+     * @param backend       script backend
+     * @return script runner
+     */
+    public static ScriptRunner runner(StringRedisTemplate redisTemplate, ScriptBackend backend) {
+        return backend == ScriptBackend.FUNCTION ? new FunctionScriptRunner(redisTemplate) : new EvalScriptRunner(redisTemplate);
+    }
+
+
+    /**
+     * The scripts by name.
+     *
+     * @return scripts
+     */
+    public static Map<String, RedisScript<?>> scripts() {
+        return Collections.unmodifiableMap(SCRIPTS);
+    }
+
+    /**
+     * Load all the scripts into redis.
+     */
+    public void load() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            for (Map.Entry<String, RedisScript<?>> script : SCRIPTS.entrySet()) {
+                String sha1 = connection.scriptingCommands().scriptLoad(
+                        script.getValue().getScriptAsString().getBytes(StandardCharsets.UTF_8));
+                if (!script.getValue().getSha1().equals(sha1)) {
+                    log.warn("script sha1 mismatch, script = {}, expected = {}, loaded = {}", script.getKey(),
+                            script.getValue().getSha1(), sha1);
+                }
+            }
+            return null;
+        });
+        if (functionRunner != null) {
+            functionRunner.loadLibrary();
+        }
+        log.debug("dlock scripts loaded, size = {}", SCRIPTS.size());
+    }
+
+    /**
+     * The scripts not known by redis.
+     *
+     * @return names of the missing scripts
+     */
+    public List<String> missing() {
+        String[] sha1s = SCRIPTS.values().stream().map(RedisScript::getSha1).toArray(String[]::new);
+        List<Boolean> exists = redisTemplate.execute((RedisCallback<List<Boolean>>) connection ->
+                connection.scriptingCommands().scriptExists(sha1s));
+        List<String> missing = new ArrayList<>();
+        int i = 0;
+        for (String name : SCRIPTS.keySet()) {
+            if (exists == null || !Boolean.TRUE.equals(exists.get(i++))) {
+                missing.add(name);
+            }
+        }
+        if (functionRunner != null && !functionRunner.isLibraryLoaded()) {
+            missing.add("library:" + FunctionScriptRunner.LIBRARY_NAME);
+        }
+        return missing;
+    }
+
+    /**
+     * Load the scripts again if any is missing.
+     */
+    public void ensureLoaded() {
+        try {
+            if (!this.missing().isEmpty()) {
+                this.load();
+            }
+        } catch (Exception e) {
+            log.warn("dlock scripts reload fail: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check the scripts every time lettuce (re)connects to redis, e.g. after a failover.
+     * Nothing is done for other drivers, the scripts are then sent in full on their first miss.
+     */
+    public void listenReconnect() {
+        RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce) || lettuce.getClientResources() == null) {
+            return;
+        }
+        reconnectListener = lettuce.getClientResources().eventBus().get()
+                .filter(event -> event instanceof ConnectionActivatedEvent)
+                // not on the event loop, and once for a burst of connections.
+                .onBackpressureLatest()
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(event -> this.ensureLoaded());
+    }
+
+    /**
+     * Stop listening to reconnects.
+     */
+    public void shutdown() {
+        if (reconnectListener != null) {
+            reconnectListener.dispose();
+        }
+    }
+}
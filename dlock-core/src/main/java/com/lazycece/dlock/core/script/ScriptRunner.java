@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.script;
+
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Runs the lock scripts of {@link ScriptRegistry} on redis.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public interface ScriptRunner {
+
+    /**
+     * Run the script.
+     *
+     * @param script script of the registry
+     * @param keys   keys
+     * @param args   args
+     * @param <T>    result type
+     * @return result
+     */
+    <T> T execute(RedisScript<T> script, List<String> keys, Object... args);
+}
@@ -0,0 +1,110 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core;
+
+import com.lazycece.dlock.core.config.DLockConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs the tests against an embedded redis server, started once per test class and flushed
+ * before every test.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public abstract class RedisTestSupport {
+
+    protected static RedisServer redisServer;
+    protected static LettuceConnectionFactory connectionFactory;
+    protected static StringRedisTemplate redisTemplate;
+
+    private final List<DLockFactory> factories = new ArrayList<>();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = startServer(freePort());
+        connectionFactory = connect(redisServer.ports().get(0));
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void flushRedis() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void shutdownFactories() {
+        factories.forEach(DLockFactory::shutdown);
+        factories.clear();
+    }
+
+    /**
+     * A lock factory on the embedded redis, shut down after the test.
+     *
+     * @param customizer changes the default lock config
+     * @return lock factory
+     */
+    protected DLockFactory newFactory(Consumer<DLockConfig> customizer) {
+        DLockConfig lockConfig = new DLockConfig();
+        customizer.accept(lockConfig);
+        DLockFactory factory = new DLockFactory(redisTemplate);
+        factory.setLockConfig(lockConfig);
+        factories.add(factory);
+        return factory;
+    }
+
+    protected static RedisServer startServer(int port) throws IOException {
+        RedisServer server = RedisServer.newRedisServer().port(port).setting("save \"\"").build();
+        server.start();
+        return server;
+    }
+
+    protected static LettuceConnectionFactory connect(int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    public static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.cluster;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.exception.DLockException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisShardedCluster;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.lazycece.dlock.core.RedisTestSupport.freePort;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the locks against an embedded redis cluster of three masters, where a script given keys of
+ * more than one slot fails with CROSSSLOT.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class RedisClusterTests {
+
+    private static RedisShardedCluster cluster;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final List<DLockFactory> factories = new ArrayList<>();
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        List<Integer> ports = List.of(freePort(), freePort(), freePort());
+        cluster = RedisShardedCluster.newRedisCluster()
+                .serverPorts(ports)
+                .shard("a", 0).shard("b", 0).shard("c", 0)
+                .build();
+        cluster.start();
+        RedisClusterConfiguration configuration = new RedisClusterConfiguration();
+        for (int port : ports) {
+            configuration.addClusterNode(new RedisClusterNode("127.0.0.1", port));
+        }
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopCluster() throws IOException {
+        connectionFactory.destroy();
+        cluster.stop();
+    }
+
+    @BeforeEach
+    void flushCluster() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void shutdownFactories() {
+        factories.forEach(DLockFactory::shutdown);
+        factories.clear();
+    }
+
+    @Test
+    void multiLockOfOneHashTagIsTakenAtOnce() {
+        DLockFactory factory = newFactory(config -> {
+        });
+        String first = ClusterKeys.withHashTag("order", "1");
+        String second = ClusterKeys.withHashTag("order", "2");
+        DLock lock = factory.produceMulti(List.of(first, second));
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertTrue(redisTemplate.hasKey(first));
+        assertTrue(redisTemplate.hasKey(second));
+        assertFalse(newFactory(config -> {
+        }).produce(second).tryLock(0, 10, TimeUnit.SECONDS));
+
+        lock.unlock();
+        assertFalse(redisTemplate.hasKey(first));
+        assertFalse(redisTemplate.hasKey(second));
+    }
+
+    @Test
+    void multiLockAcrossSlotsIsRejected() {
+        DLockFactory factory = newFactory(config -> {
+        });
+
+        assertTrue(ClusterKeys.slot("order:1") != ClusterKeys.slot("order:2"));
+        assertThrows(DLockException.class, () -> factory.produceMulti(List.of("order:1", "order:2")));
+    }
+
+    @Test
+    void fairLockQueueStaysInTheSlotOfTheLockKey() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock holder = factory.produceFair("fair:1");
+        assertTrue(holder.tryLock(0, 10, TimeUnit.SECONDS));
+
+        // another thread queues up behind the holder, on the keys related to the lock key.
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            DLock lock = factory.produceFair("fair:1");
+            boolean locked = lock.tryLock(5000, 10000, TimeUnit.MILLISECONDS);
+            if (locked) {
+                lock.unlock();
+            }
+            return locked;
+        });
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(ClusterKeys.slot("fair:1"), ClusterKeys.slot(ClusterKeys.related("dlock:queue:", "fair:1")));
+        assertTrue(redisTemplate.hasKey(ClusterKeys.related("dlock:queue:", "fair:1")));
+
+        holder.unlock();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void batchedLeasesOfKeysInManySlotsAreRenewed() throws InterruptedException {
+        DLockFactory factory = newFactory(config -> {
+            config.setRenewalThreshold(100);
+            config.setEnableBatchRenewal(true);
+            config.setRenewalTickMillis(100);
+        });
+        List<DLock> locks = new ArrayList<>();
+        Set<Integer> slots = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            DLock lock = factory.produce("renewed:" + i);
+            assertTrue(lock.tryLock(0, 900, TimeUnit.MILLISECONDS));
+            locks.add(lock);
+            slots.add(ClusterKeys.slot("renewed:" + i));
+        }
+        assertTrue(slots.size() > 1);
+
+        // one batch renews the keys of every slot, split by slot.
+        TimeUnit.MILLISECONDS.sleep(2000);
+        for (int i = 0; i < locks.size(); i++) {
+            assertTrue(locks.get(i).isLocked());
+            assertTrue(redisTemplate.hasKey("renewed:" + i));
+        }
+        locks.forEach(DLock::unlock);
+        for (int i = 0; i < locks.size(); i++) {
+            assertFalse(redisTemplate.hasKey("renewed:" + i));
+        }
+    }
+
+    private DLockFactory newFactory(Consumer<DLockConfig> customizer) {
+        DLockConfig lockConfig = new DLockConfig();
+        lockConfig.setEnableCluster(true);
+        customizer.accept(lockConfig);
+        DLockFactory factory = new DLockFactory(redisTemplate);
+        factory.setLockConfig(lockConfig);
+        factories.add(factory);
+        return factory;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.gate;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class LocalGateTests extends RedisTestSupport {
+
+    @Test
+    void waitersPassTheGateInArrivalOrder() throws Exception {
+        LocalGate localGate = new LocalGate();
+        LocalGate.Gate first = localGate.enter("gated", 0);
+        assertNotNull(first);
+
+        List<Integer> passed = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] waiters = new CompletableFuture<?>[3];
+        for (int i = 0; i < waiters.length; i++) {
+            int order = i;
+            waiters[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    LocalGate.Gate gate = localGate.enter("gated", 5000);
+                    passed.add(order);
+                    localGate.exit("gated", gate);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            // let the waiter park before the next one arrives.
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        localGate.exit("gated", first);
+
+        CompletableFuture.allOf(waiters).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(0, 1, 2), passed);
+    }
+
+    @Test
+    void waiterTimesOutWhileTheGateIsTaken() throws Exception {
+        LocalGate localGate = new LocalGate();
+        LocalGate.Gate first = localGate.enter("gated", 0);
+
+        assertNull(CompletableFuture.supplyAsync(() -> {
+            try {
+                return localGate.enter("gated", 100);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS));
+
+        localGate.exit("gated", first);
+        LocalGate.Gate again = localGate.enter("gated", 0);
+        assertNotNull(again);
+        localGate.exit("gated", again);
+    }
+
+    @Test
+    void localWaiterGetsTheLockOnceTheHolderReleases() throws Exception {
+        DLockFactory factory = newFactory(config -> config.setEnableLocalGate(true));
+        DLock lock = factory.produce("gated");
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            DLock other = factory.produce("gated");
+            boolean locked = other.tryLock(5000, 10, TimeUnit.SECONDS);
+            if (locked) {
+                other.unlock();
+            }
+            return locked;
+        });
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertFalse(waiter.isDone());
+
+        lock.unlock();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertFalse(redisTemplate.hasKey("gated"));
+    }
+
+    @Test
+    void localWaiterGivesUpAfterTheWaitTime() throws Exception {
+        DLockFactory factory = newFactory(config -> config.setEnableLocalGate(true));
+        DLock lock = factory.produce("gated");
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertFalse(CompletableFuture.supplyAsync(() ->
+                factory.produce("gated").tryLock(200, 10, TimeUnit.SECONDS)).get(5, TimeUnit.SECONDS));
+        assertTrue(lock.isLocked());
+        lock.unlock();
+    }
+}
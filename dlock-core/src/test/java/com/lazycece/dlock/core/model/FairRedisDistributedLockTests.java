@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class FairRedisDistributedLockTests extends RedisTestSupport {
+
+    @Test
+    void waitersAreGrantedInTheOrderTheyQueued() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock lock = factory.produceFair("fair");
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        List<Integer> granted = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] waiters = new CompletableFuture<?>[3];
+        for (int i = 0; i < waiters.length; i++) {
+            int order = i;
+            waiters[i] = CompletableFuture.runAsync(() -> {
+                DLock waiter = factory.produceFair("fair");
+                if (waiter.tryLock(5000, 10, TimeUnit.SECONDS)) {
+                    granted.add(order);
+                    waiter.unlock();
+                }
+            });
+            // let the waiter join the queue before the next one.
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        assertEquals(3L, redisTemplate.opsForList().size("dlock:queue:{fair}"));
+
+        lock.unlock();
+        CompletableFuture.allOf(waiters).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(0, 1, 2), granted);
+        assertFalse(redisTemplate.hasKey("fair"));
+        assertFalse(redisTemplate.hasKey("dlock:queue:{fair}"));
+    }
+
+    @Test
+    void waiterGivingUpLeavesTheQueue() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock lock = factory.produceFair("fair");
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertFalse(CompletableFuture.supplyAsync(() ->
+                factory.produceFair("fair").tryLock(200, 10, TimeUnit.SECONDS)).get(5, TimeUnit.SECONDS));
+        assertFalse(redisTemplate.hasKey("dlock:queue:{fair}"));
+        assertFalse(redisTemplate.hasKey("dlock:timeout:{fair}"));
+
+        lock.unlock();
+        assertTrue(CompletableFuture.supplyAsync(() -> {
+            DLock next = factory.produceFair("fair");
+            boolean locked = next.tryLock(0, 10, TimeUnit.SECONDS);
+            next.unlock();
+            return locked;
+        }).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nestedAcquireIsReleasedAsManyTimes() {
+        DLock lock = newFactory(config -> {
+        }).produceFair("fair");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        lock.unlock();
+        assertTrue(redisTemplate.hasKey("fair"));
+        lock.unlock();
+        assertFalse(redisTemplate.hasKey("fair"));
+    }
+}
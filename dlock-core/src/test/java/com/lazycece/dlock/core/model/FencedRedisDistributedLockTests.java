@@ -0,0 +1,82 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class FencedRedisDistributedLockTests extends RedisTestSupport {
+
+    private static final String FENCE_KEY = "dlock:fence:{fenced}";
+
+    @Test
+    void everyNewHolderGetsAGreaterToken() {
+        DLockFactory factory = newFactory(config -> config.setEnableFencing(true));
+        DLock lock = factory.produce("fenced");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        long first = lock.getFencingToken();
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        // the nested hold shares the token of the outermost one.
+        assertEquals(first, lock.getFencingToken());
+        lock.unlock();
+        lock.unlock();
+        assertEquals(0, lock.getFencingToken());
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertTrue(lock.getFencingToken() > first);
+        lock.unlock();
+    }
+
+    @Test
+    void fenceCounterExpiresAfterTheFenceTtl() {
+        DLock lock = newFactory(config -> {
+            config.setEnableFencing(true);
+            config.setFenceTtlMillis(60_000);
+        }).produce("fenced");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        lock.unlock();
+        long ttl = redisTemplate.getExpire(FENCE_KEY, TimeUnit.MILLISECONDS);
+        assertTrue(ttl > 50_000 && ttl <= 60_000, "fence ttl " + ttl);
+    }
+
+    @Test
+    void fenceCounterOutlivesTheLease() {
+        DLock lock = newFactory(config -> {
+            config.setEnableFencing(true);
+            config.setFenceTtlMillis(1000);
+        }).produce("fenced");
+
+        assertTrue(lock.tryLock(0, 60, TimeUnit.SECONDS));
+        assertTrue(redisTemplate.getExpire(FENCE_KEY, TimeUnit.MILLISECONDS) > 50_000);
+        lock.unlock();
+        assertFalse(redisTemplate.hasKey("fenced"));
+    }
+}
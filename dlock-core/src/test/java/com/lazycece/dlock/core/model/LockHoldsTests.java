@@ -0,0 +1,66 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class LockHoldsTests {
+
+    @Test
+    void holdsAreKeptPerThreadAndKey() throws Exception {
+        LockHolds holds = new LockHolds();
+        LockHold a = new LockHold();
+        LockHold b = new LockHold();
+        LockHold c = new LockHold();
+        holds.put("a", a);
+        holds.put("b", b);
+        holds.put("c", c);
+
+        assertNull(CompletableFuture.supplyAsync(() -> holds.get("a")).get());
+        holds.remove("b");
+        assertSame(a, holds.get("a"));
+        assertNull(holds.get("b"));
+        assertSame(c, holds.get("c"));
+
+        holds.remove("c");
+        holds.remove("a");
+        assertNull(holds.get("a"));
+        holds.put("a", b);
+        assertSame(b, holds.get("a"));
+    }
+
+    @Test
+    void holdOfTheSameKeyIsReplaced() {
+        LockHolds holds = new LockHolds();
+        LockHold lost = new LockHold();
+        LockHold next = new LockHold();
+        holds.put("key", lost);
+        holds.put("key", next);
+
+        assertSame(next, holds.get("key"));
+        holds.remove("key");
+        assertNull(holds.get("key"));
+    }
+}
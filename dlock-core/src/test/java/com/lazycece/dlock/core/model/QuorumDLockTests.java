@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.QuorumDLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The quorum lock over the shared embedded redis and two more, plus a node that is never up.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class QuorumDLockTests extends RedisTestSupport {
+
+    private static final List<RedisServer> servers = new ArrayList<>();
+    private static final List<LettuceConnectionFactory> connections = new ArrayList<>();
+    private static final List<StringRedisTemplate> live = new ArrayList<>();
+    private static StringRedisTemplate down;
+
+    private final List<QuorumDLockFactory> quorumFactories = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        live.add(redisTemplate);
+        for (int i = 0; i < 2; i++) {
+            RedisServer server = startServer(freePort());
+            servers.add(server);
+            LettuceConnectionFactory connection = connect(server.ports().get(0));
+            connections.add(connection);
+            live.add(new StringRedisTemplate(connection));
+        }
+        LettuceConnectionFactory connection = connect(freePort());
+        connections.add(connection);
+        down = new StringRedisTemplate(connection);
+    }
+
+    @AfterAll
+    static void stopNodes() throws IOException {
+        connections.forEach(LettuceConnectionFactory::destroy);
+        for (RedisServer server : servers) {
+            server.stop();
+        }
+        live.clear();
+    }
+
+    @AfterEach
+    void shutdownQuorumFactories() {
+        live.forEach(node -> node.delete("quorum"));
+        quorumFactories.forEach(QuorumDLockFactory::shutdown);
+        quorumFactories.clear();
+    }
+
+    @Test
+    void lockIsHeldOnEveryNodeAndReleasedOnEveryNode() {
+        QuorumDLockFactory factory = newQuorumFactory(live.get(0), live.get(1), live.get(2));
+        QuorumDLock lock = factory.produce("quorum");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertTrue(lock.getValidUntil() > System.currentTimeMillis());
+        live.forEach(node -> assertTrue(node.hasKey("quorum")));
+        assertFalse(factory.produce("quorum").tryLock(0, 10, TimeUnit.SECONDS));
+
+        lock.unlock();
+        live.forEach(node -> assertFalse(node.hasKey("quorum")));
+    }
+
+    @Test
+    void minorityOfNodesDownStillGrantsTheLock() {
+        QuorumDLock lock = newQuorumFactory(live.get(0), live.get(1), down).produce("quorum");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        lock.unlock();
+    }
+
+    @Test
+    void noQuorumGivesBackTheNodesGranted() {
+        QuorumDLockFactory factory = newQuorumFactory(live.get(0), live.get(1), live.get(2));
+        // a single node is taken by someone else, the other holder reaches 2 of 3.
+        live.get(2).opsForHash().put("quorum", "someone", "1");
+        live.get(2).expire("quorum", 10, TimeUnit.SECONDS);
+        QuorumDLock lock = newQuorumFactory(live.get(0), live.get(2), down).produce("quorum");
+
+        assertFalse(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertFalse(live.get(0).hasKey("quorum"));
+        assertTrue(factory.produce("other").tryLock(0, 10, TimeUnit.SECONDS));
+        live.forEach(node -> node.delete("other"));
+    }
+
+    @Test
+    void waitingAttemptDoesNotBlockTheOtherThreads() throws Exception {
+        QuorumDLockFactory factory = newQuorumFactory(live.get(0), live.get(1), live.get(2));
+        QuorumDLock holder = factory.produce("quorum");
+        QuorumDLock lock = factory.produce("quorum");
+        assertTrue(holder.tryLock(0, 10, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> lock.tryLock(3000, 10000, TimeUnit.MILLISECONDS));
+        TimeUnit.MILLISECONDS.sleep(200);
+        // the waiting thread sleeps between the attempts without holding the lock object.
+        CompletableFuture.runAsync(lock::unlock).get(1, TimeUnit.SECONDS);
+        assertFalse(waiting.isDone());
+
+        holder.unlock();
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(1, lock.getHoldCount());
+        lock.unlock();
+    }
+
+    private QuorumDLockFactory newQuorumFactory(StringRedisTemplate... nodes) {
+        QuorumDLockFactory factory = new QuorumDLockFactory(List.of(nodes));
+        quorumFactories.add(factory);
+        return factory;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.ReactiveDLock;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class ReactiveRedisDistributedLockTests extends RedisTestSupport {
+
+    @Test
+    void lockIsReleasedByUnlock() {
+        ReactiveDLock lock = newFactory(config -> {
+        }).produceReactive("reactive");
+
+        StepVerifier.create(lock.tryLock(0, 10, TimeUnit.SECONDS)).expectNext(true).verifyComplete();
+        assertTrue(redisTemplate.hasKey("reactive"));
+        StepVerifier.create(lock.unlock()).verifyComplete();
+        assertFalse(redisTemplate.hasKey("reactive"));
+    }
+
+    @Test
+    void lockGrantedAfterCancelIsReleased() throws InterruptedException {
+        ReactiveDLock lock = newFactory(config -> {
+        }).produceReactive("cancelled");
+
+        // redis is kept busy, so the lock call is sent, cancelled while in flight, and granted later.
+        LettuceConnectionFactory busy = connect(redisServer.ports().get(0));
+        CompletableFuture<Object> sleep = CompletableFuture.supplyAsync(() -> new StringRedisTemplate(busy)
+                .execute((RedisCallback<Object>) connection -> connection.execute("DEBUG",
+                        "SLEEP".getBytes(StandardCharsets.UTF_8), "0.5".getBytes(StandardCharsets.UTF_8))));
+        TimeUnit.MILLISECONDS.sleep(100);
+        StepVerifier.create(lock.tryLock(0, 10, TimeUnit.SECONDS))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        sleep.join();
+        busy.destroy();
+
+        assertKeyGone("cancelled");
+        assertFalse(lock.isLocked());
+    }
+
+    @Test
+    void cancelWhileWaitingLeavesNoLock() throws InterruptedException {
+        DLockFactory factory = newFactory(config -> {
+        });
+        ReactiveDLock holder = factory.produceReactive("waiting");
+        ReactiveDLock lock = factory.produceReactive("waiting");
+        StepVerifier.create(holder.tryLock(0, 10, TimeUnit.SECONDS)).expectNext(true).verifyComplete();
+
+        StepVerifier.create(lock.tryLock(5000, 10000, TimeUnit.MILLISECONDS))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(300))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(holder.unlock()).verifyComplete();
+
+        assertKeyGone("waiting");
+        assertFalse(lock.isLocked());
+    }
+
+    private static void assertKeyGone(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (Boolean.TRUE.equals(redisTemplate.hasKey(key)) && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertFalse(redisTemplate.hasKey(key));
+    }
+}
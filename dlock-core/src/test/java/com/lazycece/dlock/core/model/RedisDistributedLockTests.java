@@ -0,0 +1,135 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import com.lazycece.dlock.core.exception.DLockException;
+import com.lazycece.dlock.core.observe.LockObserver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class RedisDistributedLockTests extends RedisTestSupport {
+
+    @Test
+    void nestedAcquireIsReleasedAsManyTimes() {
+        DLock lock = newFactory(config -> {
+        }).produce("reentrant");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertEquals(2, lock.getHoldCount());
+
+        lock.unlock();
+        assertTrue(redisTemplate.hasKey("reentrant"));
+        lock.unlock();
+        assertFalse(redisTemplate.hasKey("reentrant"));
+        assertFalse(lock.isLocked());
+    }
+
+    @Test
+    void nestedAcquireFailsOnceTheLeaseHasLapsed() throws InterruptedException {
+        DLock lock = newFactory(config -> config.setEnableRenewal(false)).produce("lapsed");
+        DLock other = newFactory(config -> config.setEnableRenewal(false)).produce("lapsed");
+
+        assertTrue(lock.tryLock(0, 200, TimeUnit.MILLISECONDS));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertTrue(other.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertFalse(lock.isLocked());
+        assertFalse(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertTrue(other.isLocked());
+    }
+
+    @Test
+    void unlockFromAnotherThreadIsRejected() throws InterruptedException {
+        DLock lock = newFactory(config -> {
+        }).produce("owned");
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> CompletableFuture.runAsync(lock::unlock).get());
+        assertInstanceOf(DLockException.class, error.getCause());
+        assertTrue(redisTemplate.hasKey("owned"));
+
+        lock.unlock();
+        assertFalse(redisTemplate.hasKey("owned"));
+    }
+
+    @Test
+    void lockIsExclusiveAcrossFactories() {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock lock = factory.produce("exclusive");
+        DLock other = newFactory(config -> {
+        }).produce("exclusive");
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertFalse(other.tryLock(100, 10, TimeUnit.SECONDS));
+        lock.unlock();
+        assertTrue(other.tryLock(1000, 10, TimeUnit.SECONDS));
+        other.unlock();
+    }
+
+    @Test
+    void lostHoldIsReportedInsteadOfReleased() throws InterruptedException {
+        List<String> events = new CopyOnWriteArrayList<>();
+        DLockFactory factory = newFactory(config -> config.setEnableRenewal(false));
+        factory.setLockObserver(new LockObserver() {
+            @Override
+            public void onAcquire(String lockKey, boolean acquired, int attempts, long waitNanos) {
+                events.add(acquired ? "acquired" : "timeout");
+            }
+
+            @Override
+            public void onRelease(String lockKey, long holdNanos) {
+                events.add("released");
+            }
+
+            @Override
+            public void onLost(String lockKey) {
+                events.add("lost");
+            }
+        });
+        DLock lock = factory.produce("observed");
+
+        assertTrue(lock.tryLock(0, 200, TimeUnit.MILLISECONDS));
+        TimeUnit.MILLISECONDS.sleep(300);
+        // the lapsed hold is dropped, and the lock taken again.
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        lock.unlock();
+        lock.unlock();
+
+        assertEquals(List.of("acquired", "lost", "acquired", "released"), events);
+    }
+}
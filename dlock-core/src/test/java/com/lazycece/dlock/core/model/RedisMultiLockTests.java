@@ -0,0 +1,78 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class RedisMultiLockTests extends RedisTestSupport {
+
+    @Test
+    void allTheKeysAreLockedAndReleasedTogether() {
+        DLock lock = newFactory(config -> {
+        }).produceMulti(List.of("multi:b", "multi:a", "multi:c"));
+
+        assertTrue(lock.tryLock(0, 10, TimeUnit.SECONDS));
+        assertEquals(3L, redisTemplate.countExistingKeys(List.of("multi:a", "multi:b", "multi:c")));
+        lock.unlock();
+        assertEquals(0L, redisTemplate.countExistingKeys(List.of("multi:a", "multi:b", "multi:c")));
+    }
+
+    @Test
+    void noKeyIsLockedIfOneIsHeld() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock single = factory.produce("multi:b");
+        assertTrue(single.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertFalse(CompletableFuture.supplyAsync(() ->
+                factory.produceMulti(List.of("multi:a", "multi:b")).tryLock(0, 10, TimeUnit.SECONDS)).get(5, TimeUnit.SECONDS));
+        assertFalse(redisTemplate.hasKey("multi:a"));
+
+        single.unlock();
+        assertTrue(CompletableFuture.supplyAsync(() -> {
+            DLock multi = factory.produceMulti(List.of("multi:a", "multi:b"));
+            boolean locked = multi.tryLock(0, 10, TimeUnit.SECONDS);
+            multi.unlock();
+            return locked;
+        }).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void emptyKeysAreRejected() {
+        DLockFactory factory = newFactory(config -> {
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> factory.produceMulti(Collections.emptyList()));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class RedisReadWriteLockTests extends RedisTestSupport {
+
+    @Test
+    void readersShareTheLock() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock readLock = factory.produceReadWrite("rw").readLock();
+        assertTrue(readLock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertTrue(onOtherThread(() -> {
+            DLock other = factory.produceReadWrite("rw").readLock();
+            boolean locked = other.tryLock(0, 10, TimeUnit.SECONDS);
+            other.unlock();
+            return locked;
+        }));
+        assertTrue(redisTemplate.hasKey("rw"));
+        readLock.unlock();
+        assertFalse(redisTemplate.hasKey("rw"));
+    }
+
+    @Test
+    void writerWaitsForTheReaders() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock readLock = factory.produceReadWrite("rw").readLock();
+        assertTrue(readLock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertFalse(onOtherThread(() -> factory.produceReadWrite("rw").writeLock().tryLock(200, 10, TimeUnit.SECONDS)));
+        readLock.unlock();
+        assertTrue(onOtherThread(() -> {
+            DLock writeLock = factory.produceReadWrite("rw").writeLock();
+            boolean locked = writeLock.tryLock(0, 10, TimeUnit.SECONDS);
+            writeLock.unlock();
+            return locked;
+        }));
+    }
+
+    @Test
+    void writeOwnerAloneMayRead() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DLock writeLock = factory.produceReadWrite("rw").writeLock();
+        DLock readLock = factory.produceReadWrite("rw").readLock();
+        assertTrue(writeLock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        assertFalse(onOtherThread(() -> factory.produceReadWrite("rw").readLock().tryLock(200, 10, TimeUnit.SECONDS)));
+        assertTrue(readLock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        // the remaining read keeps the lock, now shared with the other readers.
+        writeLock.unlock();
+        assertTrue(redisTemplate.hasKey("rw"));
+        assertTrue(onOtherThread(() -> {
+            DLock other = factory.produceReadWrite("rw").readLock();
+            boolean locked = other.tryLock(0, 10, TimeUnit.SECONDS);
+            other.unlock();
+            return locked;
+        }));
+        readLock.unlock();
+        assertFalse(redisTemplate.hasKey("rw"));
+    }
+
+    @Test
+    void expiredReaderDoesNotKeepTheWriterOut() throws Exception {
+        DLockFactory factory = newFactory(config -> config.setEnableRenewal(false));
+        // a reader that stops renewing, as if crashed.
+        assertTrue(onOtherThread(() -> factory.produceReadWrite("rw").readLock().tryLock(0, 200, TimeUnit.MILLISECONDS)));
+        DLock readLock = factory.produceReadWrite("rw").readLock();
+        assertTrue(readLock.tryLock(0, 10, TimeUnit.SECONDS));
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        readLock.unlock();
+        assertFalse(redisTemplate.hasKey("rw"));
+        assertTrue(onOtherThread(() -> factory.produceReadWrite("rw").writeLock().tryLock(0, 10, TimeUnit.SECONDS)));
+    }
+
+    private static boolean onOtherThread(Supplier<Boolean> action) throws Exception {
+        return CompletableFuture.supplyAsync(action).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.model;
+
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.DSemaphore;
+import com.lazycece.dlock.core.RedisTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class RedisSemaphoreTests extends RedisTestSupport {
+
+    @Test
+    void noMorePermitsThanTotalAreHeld() {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DSemaphore first = factory.produceSemaphore("permits", 3);
+        DSemaphore second = factory.produceSemaphore("permits", 3);
+
+        assertTrue(first.tryAcquire(2, 0, 10, TimeUnit.SECONDS));
+        assertEquals(2, first.getHeldPermits());
+        assertFalse(second.tryAcquire(2, 0, 10, TimeUnit.SECONDS));
+        assertTrue(second.tryAcquire(1, 0, 10, TimeUnit.SECONDS));
+
+        first.release();
+        assertEquals(0, first.getHeldPermits());
+        assertTrue(second.tryAcquire(2, 0, 10, TimeUnit.SECONDS));
+        assertEquals(3, second.getHeldPermits());
+        second.release();
+    }
+
+    @Test
+    void releaseWakesUpTheWaiter() throws Exception {
+        DLockFactory factory = newFactory(config -> {
+        });
+        DSemaphore holder = factory.produceSemaphore("permits", 2);
+        assertTrue(holder.tryAcquire(2, 0, 10, TimeUnit.SECONDS));
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() ->
+                factory.produceSemaphore("permits", 2).tryAcquire(2, 5000, 10, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertFalse(waiter.isDone());
+
+        holder.release();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        // woken up by the release, not by the wait running out.
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+
+    @Test
+    void permitsOfAnExpiredHolderComeBack() throws InterruptedException {
+        DLockFactory factory = newFactory(config -> config.setEnableRenewal(false));
+        DSemaphore crashed = factory.produceSemaphore("permits", 1);
+        DSemaphore other = factory.produceSemaphore("permits", 1);
+
+        assertTrue(crashed.tryAcquire(1, 0, 200, TimeUnit.MILLISECONDS));
+        assertFalse(other.tryAcquire(1, 0, 10, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertTrue(other.tryAcquire(1, 0, 10, TimeUnit.SECONDS));
+        other.release();
+    }
+
+    @Test
+    void permitsOutOfRangeAreRejected() {
+        DSemaphore semaphore = newFactory(config -> {
+        }).produceSemaphore("permits", 2);
+
+        assertThrows(IllegalArgumentException.class, () -> semaphore.tryAcquire(0, 0, 10, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> semaphore.tryAcquire(3, 0, 10, TimeUnit.SECONDS));
+    }
+}
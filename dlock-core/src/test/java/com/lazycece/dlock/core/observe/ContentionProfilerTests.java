@@ -0,0 +1,79 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.observe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class ContentionProfilerTests {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void quickFirstAttemptIsNotContended() {
+        ContentionProfiler profiler = new ContentionProfiler(4);
+        profiler.onAcquire("quick", true, 1, MILLIS / 10);
+
+        assertTrue(profiler.top(10).isEmpty());
+        assertEquals(0, profiler.getContendedAcquires());
+    }
+
+    @Test
+    void waitBehindLocalThreadsIsContended() {
+        ContentionProfiler profiler = new ContentionProfiler(4);
+        // granted at the first redis attempt, after waiting at the local gate.
+        profiler.onAcquire("gated", true, 1, 5 * MILLIS);
+
+        List<ContentionProfiler.KeyContention> top = profiler.top(10);
+        assertEquals(1, top.size());
+        assertEquals("gated", top.get(0).getLockKey());
+        assertEquals(5 * MILLIS, top.get(0).getWaitNanos());
+        assertEquals(0, top.get(0).getFailedAttempts());
+    }
+
+    @Test
+    void timeoutsAndRetriesAreContended() {
+        ContentionProfiler profiler = new ContentionProfiler(4);
+        profiler.onAcquire("busy", false, 1, 0);
+        profiler.onAcquire("busy", true, 3, 2 * MILLIS);
+
+        ContentionProfiler.KeyContention busy = profiler.top(1).get(0);
+        assertEquals(2, busy.getContendedAcquires());
+        assertEquals(3, busy.getFailedAttempts());
+        assertEquals(1, busy.getTimeouts());
+    }
+
+    @Test
+    void leastWaitedKeyIsEvictedWhenFull() {
+        ContentionProfiler profiler = new ContentionProfiler(2);
+        profiler.onAcquire("a", true, 2, 10 * MILLIS);
+        profiler.onAcquire("b", true, 2, 2 * MILLIS);
+        profiler.onAcquire("c", true, 2, 3 * MILLIS);
+
+        List<ContentionProfiler.KeyContention> top = profiler.top(10);
+        assertEquals(List.of("a", "c"), top.stream().map(ContentionProfiler.KeyContention::getLockKey).toList());
+        assertEquals(2 * MILLIS, top.get(1).getWaitErrorNanos());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.core.renewal;
+
+import com.lazycece.dlock.core.config.DLockConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class AdaptiveLeaseTests {
+
+    @Test
+    void leaseFollowsTheHoldDurationsOfTheKeyPattern() {
+        AdaptiveLease adaptiveLease = new AdaptiveLease(lockConfig(1000));
+        for (int i = 0; i < 10; i++) {
+            adaptiveLease.onRelease("order:" + i, TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        long lease = adaptiveLease.leaseMillisTime("order:42");
+        assertTrue(lease >= 600 && lease < 60000, "lease " + lease);
+        assertEquals(60000, adaptiveLease.leaseMillisTime("user:42"));
+    }
+
+    @Test
+    void keyPatternsBeyondTheMaxGetTheMaxLease() {
+        AdaptiveLease adaptiveLease = new AdaptiveLease(lockConfig(1));
+        for (int i = 0; i < 10; i++) {
+            adaptiveLease.onRelease("order:" + i, TimeUnit.MILLISECONDS.toNanos(200));
+            adaptiveLease.onRelease("user:" + i, TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        assertTrue(adaptiveLease.leaseMillisTime("order:42") < 60000);
+        assertEquals(60000, adaptiveLease.leaseMillisTime("user:42"));
+    }
+
+    private static DLockConfig lockConfig(int maxKeyPatterns) {
+        DLockConfig lockConfig = new DLockConfig();
+        lockConfig.setEnableAdaptiveLease(true);
+        lockConfig.setAdaptiveLeaseMinSamples(10);
+        lockConfig.setRenewalThreshold(100);
+        lockConfig.setAdaptiveLeaseMaxKeyPatterns(maxKeyPatterns);
+        return lockConfig;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.renewal;
+
+import com.lazycece.dlock.core.DLock;
+import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.RedisTestSupport;
+import com.lazycece.dlock.core.config.DLockConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class RenewalSchedulerTests extends RedisTestSupport {
+
+    private static final Consumer<DLockConfig> RENEWED = config -> config.setRenewalThreshold(100);
+
+    @Test
+    void leaseIsRenewedWhileHeld() throws InterruptedException {
+        DLock lock = newFactory(RENEWED).produce("renewed");
+
+        assertTrue(lock.tryLock(0, 300, TimeUnit.MILLISECONDS));
+        TimeUnit.MILLISECONDS.sleep(1000);
+        assertTrue(lock.isLocked());
+        assertTrue(redisTemplate.getExpire("renewed", TimeUnit.MILLISECONDS) > 0);
+
+        lock.unlock();
+        assertFalse(redisTemplate.hasKey("renewed"));
+    }
+
+    @Test
+    void leaseTakenByOthersIsLost() throws InterruptedException {
+        DLock lock = newFactory(RENEWED).produce("taken");
+        assertTrue(lock.tryLock(0, 300, TimeUnit.MILLISECONDS));
+
+        redisTemplate.delete("taken");
+        redisTemplate.opsForHash().put("taken", "someone", "1");
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        assertFalse(lock.isLocked());
+        lock.unlock();
+        assertTrue(redisTemplate.hasKey("taken"));
+    }
+
+    @Test
+    void readerOwnExpireTimeIsRenewed() throws Exception {
+        DLockFactory factory = newFactory(RENEWED);
+        DLock readLock = factory.produceReadWrite("read").readLock();
+        assertTrue(readLock.tryLock(0, 300, TimeUnit.MILLISECONDS));
+
+        TimeUnit.MILLISECONDS.sleep(1000);
+        // the renewals carry the client clock, so the reader is not pruned as expired.
+        assertFalse(CompletableFuture.supplyAsync(() ->
+                factory.produceReadWrite("read").writeLock().tryLock(0, 10, TimeUnit.SECONDS)).get(5, TimeUnit.SECONDS));
+        assertTrue(readLock.isLocked());
+        readLock.unlock();
+        assertFalse(redisTemplate.hasKey("read"));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.core.script;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The functions backend needs redis 7, only the library naming is checked here.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+class FunctionScriptRunnerTests {
+
+    @Test
+    void libraryAndFunctionsAreNamedByTheScriptsHash() {
+        assertTrue(FunctionScriptRunner.LIBRARY_NAME.matches("dlock_[0-9a-f]{12}"));
+        String library = FunctionScriptRunner.library();
+        assertTrue(library.startsWith("#!lua name=" + FunctionScriptRunner.LIBRARY_NAME + "\n"));
+        for (String name : ScriptRegistry.scripts().keySet()) {
+            assertTrue(library.contains("redis.register_function('" + FunctionScriptRunner.functionName(name) + "'"));
+            assertTrue(FunctionScriptRunner.functionName(name).startsWith(FunctionScriptRunner.LIBRARY_NAME + "_"));
+        }
+    }
+}
@@ -75,6 +75,27 @@ public class SampleController {
         return "renewals end";
     }
 
+    @GetMapping("/adaptive")
+    public String adaptive() {
+        log.info("================== adaptive begin");
+
+        try {
+            // no lease given, picked from the hold durations seen if dlock.adaptive-lease.enabled
+            DLockUtils.tryLock("adaptive", () -> {
+                log.info("================== adaptive handle something");
+                try {
+                    Thread.sleep(2 * 1000);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+        } catch (DLockTimeoutException e) {
+            return e.getMessage();
+        }
+        log.info("================== adaptive end");
+        return "adaptive end";
+    }
+
     @GetMapping("/reentrant")
     public String reentrant() throws InterruptedException {
         log.info("================== reentrant begin");
@@ -18,47 +18,251 @@ package com.lazycece.dlock.springboot.autoconfigure;
 
 import com.alibaba.fastjson2.JSON;
 import com.lazycece.dlock.core.DLockFactory;
+import com.lazycece.dlock.core.QuorumDLockFactory;
 import com.lazycece.dlock.core.config.DLockConfig;
+import com.lazycece.dlock.core.config.DeadlineAwareRetryStrategy;
+import com.lazycece.dlock.core.config.DecorrelatedJitterRetryStrategy;
+import com.lazycece.dlock.core.config.ExponentialRetryStrategy;
+import com.lazycece.dlock.core.config.FixedRetryStrategy;
+import com.lazycece.dlock.core.config.RetryStrategy;
+import com.lazycece.dlock.core.observe.LockObserver;
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import io.lettuce.core.RedisURI;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author lazycece
  * @date 2025/4/27
  */
 @Configuration
 @EnableConfigurationProperties({DLockProperties.class})
-public class DLockAutoConfiguration {
+@AutoConfigureAfter(name = {"org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+public class DLockAutoConfiguration implements DisposableBean {
 
     private final Logger log = LoggerFactory.getLogger(DLockAutoConfiguration.class);
     private final DLockProperties lockProperties;
     private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<ReactiveStringRedisTemplate> reactiveRedisTemplate;
+    private final ObjectProvider<LockObserver> lockObserver;
+    /**
+     * connections to the quorum lock nodes, owned by this configuration.
+     */
+    private final List<LettuceConnectionFactory> quorumConnectionFactories = new ArrayList<>();
 
     @Autowired
-    public DLockAutoConfiguration(DLockProperties lockProperties, StringRedisTemplate redisTemplate) {
+    public DLockAutoConfiguration(DLockProperties lockProperties, StringRedisTemplate redisTemplate,
+                                  ObjectProvider<ReactiveStringRedisTemplate> reactiveRedisTemplate,
+                                  ObjectProvider<LockObserver> lockObserver) {
         this.lockProperties = lockProperties;
         this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.lockObserver = lockObserver;
     }
 
     @Bean
     public DLockFactory dLockFactory() {
 
+        DLockConfig lockConfig = this.lockConfig();
+
+        DLockFactory factory = new DLockFactory(redisTemplate);
+        factory.setLockConfig(lockConfig);
+        // reactive redis on the classpath, reactive and async locks share its template.
+        reactiveRedisTemplate.ifAvailable(factory::setReactiveRedisTemplate);
+        // metrics or a custom observer registered, the lock operations are reported to it.
+        lockObserver.ifAvailable(factory::setLockObserver);
+
+        log.info("dlock loading completed, lock config is: {}", JSON.toJSONString(lockConfig));
+
+        return factory;
+    }
+
+    @Bean
+    public ScriptRegistry dLockScriptRegistry() {
+        ScriptRegistry registry = new ScriptRegistry(redisTemplate, lockProperties.getScriptBackend());
+        try {
+            registry.load();
+        } catch (Exception e) {
+            // redis not reachable yet, the lua scripts are sent in full on first use and the
+            // functions library is loaded by the first call that does not find it.
+            log.warn("dlock scripts preload fail: {}", e.getMessage());
+        }
+        registry.listenReconnect();
+        return registry;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dlock.quorum", name = "enabled", havingValue = "true")
+    public QuorumDLockFactory quorumDLockFactory() {
+        List<StringRedisTemplate> nodes = new ArrayList<>();
+        for (String node : lockProperties.getQuorum().getNodes()) {
+            RedisURI uri = RedisURI.create(node);
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(this.standaloneConfiguration(uri),
+                    this.clientConfiguration(uri));
+            connectionFactory.afterPropertiesSet();
+            quorumConnectionFactories.add(connectionFactory);
+            nodes.add(new StringRedisTemplate(connectionFactory));
+        }
+
+        QuorumDLockFactory factory = new QuorumDLockFactory(nodes);
+        factory.setLockConfig(this.lockConfig());
+
+        log.info("dlock quorum loading completed, nodes size is: {}", nodes.size());
+
+        return factory;
+    }
+
+    @Override
+    public void destroy() {
+        quorumConnectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+    static class DLockHealthConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "dLockScriptsHealthIndicator")
+        public DLockScriptsHealthIndicator dLockScriptsHealthIndicator(ScriptRegistry scriptRegistry) {
+            return new DLockScriptsHealthIndicator(scriptRegistry);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    @ConditionalOnProperty(prefix = "dlock.contention-profiler", name = "enabled", havingValue = "true")
+    static class DLockContentionConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public DLockContentionEndpoint dLockContentionEndpoint(DLockFactory dLockFactory) {
+            return new DLockContentionEndpoint(dLockFactory.getContentionProfiler());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = "dlock.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class DLockMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(type = "io.micrometer.core.instrument.MeterRegistry")
+        @ConditionalOnMissingBean(LockObserver.class)
+        public MicrometerLockObserver dLockMetricsObserver(MeterRegistry meterRegistry, DLockProperties lockProperties) {
+            return new MicrometerLockObserver(meterRegistry, lockProperties.getMetrics().getMaxKeyPatterns());
+        }
+    }
+
+    private DLockConfig lockConfig() {
         DLockConfig lockConfig = new DLockConfig();
         lockConfig.setDefaultWaitMillisTime(lockProperties.getDefaultWaitMillisTime());
         lockConfig.setTrySleepMillis(lockProperties.getTrySleepMillis());
+        lockConfig.setRetryStrategy(this.retryStrategy(lockProperties.getRetry()));
         lockConfig.setEnableRenewal(lockProperties.isEnableRenewal());
         lockConfig.setRenewalThreshold(lockProperties.getRenewalThreshold());
+        lockConfig.setRenewalPoolSize(lockProperties.getRenewalPoolSize());
+        lockConfig.setEnableBatchRenewal(lockProperties.isEnableBatchRenewal());
+        lockConfig.setRenewalTickMillis(lockProperties.getRenewalTickMillis());
+        lockConfig.setEnableVirtualThreads(lockProperties.isEnableVirtualThreads());
+        lockConfig.setEnableSubscribe(lockProperties.isEnableSubscribe());
+        lockConfig.setEnableLocalGate(lockProperties.isEnableLocalGate());
+        lockConfig.setEnableFencing(lockProperties.isEnableFencing());
+        lockConfig.setFenceTtlMillis(lockProperties.getFenceTtlMillis());
+        lockConfig.setFairQueueTimeoutMillis(lockProperties.getFairQueueTimeoutMillis());
+        lockConfig.setEnableCluster(lockProperties.isEnableCluster() || this.isClusterAware());
+        lockConfig.setScriptBackend(lockProperties.getScriptBackend());
+        lockConfig.setEnableContentionProfiler(lockProperties.getContentionProfiler().isEnabled());
+        lockConfig.setContentionProfilerCapacity(lockProperties.getContentionProfiler().getCapacity());
+        lockConfig.setContentionProfilerSampleRate(lockProperties.getContentionProfiler().getSampleRate());
+        lockConfig.setEnableAdaptiveLease(lockProperties.getAdaptiveLease().isEnabled());
+        lockConfig.setAdaptiveLeasePercentile(lockProperties.getAdaptiveLease().getPercentile());
+        lockConfig.setAdaptiveLeaseFactor(lockProperties.getAdaptiveLease().getFactor());
+        lockConfig.setAdaptiveLeaseMinSamples(lockProperties.getAdaptiveLease().getMinSamples());
+        lockConfig.setAdaptiveLeaseMaxMillis(lockProperties.getAdaptiveLease().getMaxMillis());
+        lockConfig.setAdaptiveLeaseMaxKeyPatterns(lockProperties.getAdaptiveLease().getMaxKeyPatterns());
+        lockConfig.setQuorumNodeTimeoutMillis(lockProperties.getQuorum().getNodeTimeoutMillis());
+        lockConfig.setQuorumClockDriftFactor(lockProperties.getQuorum().getClockDriftFactor());
+        return lockConfig;
+    }
 
-        DLockFactory factory = new DLockFactory(redisTemplate);
-        factory.setLockConfig(lockConfig);
+    private RedisStandaloneConfiguration standaloneConfiguration(RedisURI uri) {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(uri.getHost(), uri.getPort());
+        configuration.setDatabase(uri.getDatabase());
+        configuration.setUsername(uri.getUsername());
+        if (uri.getPassword() != null) {
+            configuration.setPassword(uri.getPassword());
+        }
+        return configuration;
+    }
 
-        log.info("dlock loading completed, lock config is: {}", JSON.toJSONString(lockConfig));
+    /**
+     * The client settings of a quorum node: the client options, resources and timeouts of the spring
+     * boot redis connection, with the ssl and the timeout given by the node uri.
+     */
+    private LettuceClientConfiguration clientConfiguration(RedisURI uri) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder();
+        if (redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory connectionFactory) {
+            LettuceClientConfiguration shared = connectionFactory.getClientConfiguration();
+            shared.getClientOptions().ifPresent(builder::clientOptions);
+            shared.getClientResources().ifPresent(builder::clientResources);
+            shared.getClientName().ifPresent(builder::clientName);
+            builder.commandTimeout(shared.getCommandTimeout())
+                    .shutdownTimeout(shared.getShutdownTimeout())
+                    .shutdownQuietPeriod(shared.getShutdownQuietPeriod());
+        }
+        if (!RedisURI.DEFAULT_TIMEOUT_DURATION.equals(uri.getTimeout())) {
+            builder.commandTimeout(uri.getTimeout());
+        }
+        if (uri.isSsl()) {
+            LettuceClientConfiguration.LettuceSslClientConfigurationBuilder ssl = builder.useSsl();
+            if (!uri.isVerifyPeer()) {
+                ssl.disablePeerVerification();
+            }
+            if (uri.isStartTls()) {
+                ssl.startTls();
+            }
+        }
+        return builder.build();
+    }
 
-        return factory;
+    /**
+     * Redis is configured as a cluster through spring boot, e.g. {@code spring.data.redis.cluster.nodes}.
+     */
+    private boolean isClusterAware() {
+        return redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory connectionFactory
+                && connectionFactory.isClusterAware();
+    }
+
+    private RetryStrategy retryStrategy(DLockProperties.Retry retry) {
+        if (retry.getType() == null) {
+            return null;
+        }
+        RetryStrategy strategy = switch (retry.getType()) {
+            case FIXED -> new FixedRetryStrategy(retry.getBaseMillis());
+            case EXPONENTIAL -> new ExponentialRetryStrategy(retry.getBaseMillis(), retry.getMaxMillis(), retry.getMultiplier());
+            case DECORRELATED_JITTER -> new DecorrelatedJitterRetryStrategy(retry.getBaseMillis(), retry.getMaxMillis());
+        };
+        return retry.isDeadlineAware() ? new DeadlineAwareRetryStrategy(strategy) : strategy;
     }
 }
@@ -0,0 +1,150 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.springboot.autoconfigure;
+
+import com.lazycece.dlock.core.observe.ContentionProfiler;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the most contended lock keys found by the contention profiler, e.g.
+ * {@code GET /actuator/dlockContention?top=10}, and {@code DELETE} starts the profile over.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+@Endpoint(id = "dlockContention")
+public class DLockContentionEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final ContentionProfiler contentionProfiler;
+
+    public DLockContentionEndpoint(ContentionProfiler contentionProfiler) {
+        this.contentionProfiler = contentionProfiler;
+    }
+
+    @ReadOperation
+    public ContentionReport contention(@Nullable Integer top) {
+        long totalWaitNanos = contentionProfiler.getTotalWaitNanos();
+        List<KeyReport> keys = new ArrayList<>();
+        for (ContentionProfiler.KeyContention key : contentionProfiler.top(top == null ? DEFAULT_TOP : top)) {
+            keys.add(new KeyReport(key, totalWaitNanos));
+        }
+        return new ContentionReport(contentionProfiler.getCapacity(), contentionProfiler.getSampleRate(),
+                contentionProfiler.getContendedAcquires(), toMillis(totalWaitNanos), keys);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        contentionProfiler.reset();
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public static class ContentionReport {
+
+        private final int capacity;
+        private final double sampleRate;
+        private final long contendedAcquires;
+        private final double totalWaitMillis;
+        private final List<KeyReport> keys;
+
+        ContentionReport(int capacity, double sampleRate, long contendedAcquires, double totalWaitMillis,
+                         List<KeyReport> keys) {
+            this.capacity = capacity;
+            this.sampleRate = sampleRate;
+            this.contendedAcquires = contendedAcquires;
+            this.totalWaitMillis = totalWaitMillis;
+            this.keys = keys;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public long getContendedAcquires() {
+            return contendedAcquires;
+        }
+
+        public double getTotalWaitMillis() {
+            return totalWaitMillis;
+        }
+
+        public List<KeyReport> getKeys() {
+            return keys;
+        }
+    }
+
+    public static class KeyReport {
+
+        private final ContentionProfiler.KeyContention key;
+        private final long totalWaitNanos;
+
+        KeyReport(ContentionProfiler.KeyContention key, long totalWaitNanos) {
+            this.key = key;
+            this.totalWaitNanos = totalWaitNanos;
+        }
+
+        public String getLockKey() {
+            return key.getLockKey();
+        }
+
+        public double getWaitMillis() {
+            return toMillis(key.getWaitNanos());
+        }
+
+        public double getWaitErrorMillis() {
+            return toMillis(key.getWaitErrorNanos());
+        }
+
+        /**
+         * The share of all the time waited, as an upper bound.
+         */
+        public double getWaitShare() {
+            return totalWaitNanos == 0 ? 0 : Math.min(1, (double) key.getWaitNanos() / totalWaitNanos);
+        }
+
+        public long getContendedAcquires() {
+            return key.getContendedAcquires();
+        }
+
+        public long getFailedAttempts() {
+            return key.getFailedAttempts();
+        }
+
+        public long getTimeouts() {
+            return key.getTimeouts();
+        }
+
+        public double getMeanHoldMillis() {
+            return key.getMeanHoldMillis();
+        }
+    }
+}
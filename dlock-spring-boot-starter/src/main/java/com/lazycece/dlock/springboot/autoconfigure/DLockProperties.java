@@ -16,8 +16,12 @@
 
 package com.lazycece.dlock.springboot.autoconfigure;
 
+import com.lazycece.dlock.core.script.ScriptBackend;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author lazycece
  * @date 2025/4/27
@@ -45,6 +49,90 @@ public class DLockProperties {
      */
     private long renewalThreshold = 3000;
 
+    /**
+     * Thread count of the renewal engine shared by all the locks, default value is 1.
+     */
+    private int renewalPoolSize = 1;
+
+    /**
+     * Whether to renew all the held leases through one batched script call per tick.
+     */
+    private boolean enableBatchRenewal = false;
+
+    /**
+     * The tick of the batch renewal, default value is 500 milliseconds. It should be less than a third of the renewal threshold.
+     */
+    private long renewalTickMillis = 500;
+
+    /**
+     * Whether to run the renewal engine on virtual threads, java 21+ only, platform threads are used otherwise.
+     */
+    private boolean enableVirtualThreads = false;
+
+    /**
+     * Whether to wait for the lock release notification (redis pub/sub) while trying lock,
+     * polling with {@code trySleepMillis} is used only if disabled.
+     */
+    private boolean enableSubscribe = true;
+
+    /**
+     * Whether to let only one local thread per lock key contend on redis, the others wait in FIFO order in the JVM.
+     */
+    private boolean enableLocalGate = false;
+
+    /**
+     * Whether the locks produced issue fencing tokens, a counter per lock key is kept in redis for it.
+     */
+    private boolean enableFencing = false;
+
+    /**
+     * How long the fence counter of a lock key is kept after its last increment, in millis. Once it
+     * expires the tokens of the key start over from 1, so it must outlast the longest hold and the time
+     * the downstream storage remembers the highest token seen.
+     */
+    private long fenceTtlMillis = 7 * 24 * 60 * 60 * 1000L;
+
+    /**
+     * How long a fair lock waiter keeps its place in the queue without retrying, in millis.
+     */
+    private long fairQueueTimeoutMillis = 5000;
+
+    /**
+     * Whether redis runs in cluster mode, batched renewals are then split by hash slot and multi lock
+     * keys must share one slot. Turned on as well if the redis connection is cluster aware.
+     */
+    private boolean enableCluster = false;
+
+    /**
+     * How the lock scripts are run: lua (EVALSHA) or function (FCALL of a functions library, redis 7+).
+     */
+    private ScriptBackend scriptBackend = ScriptBackend.LUA;
+
+    /**
+     * The retry strategy while trying lock.
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * The quorum lock over independent redis nodes.
+     */
+    private Quorum quorum = new Quorum();
+
+    /**
+     * The lock metrics, registered when micrometer is present.
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * The lease picked from the hold durations seen, for the locks taken without one.
+     */
+    private AdaptiveLease adaptiveLease = new AdaptiveLease();
+
+    /**
+     * The profile of the contended lock keys, the top ones are exposed by the dlockContention endpoint.
+     */
+    private ContentionProfiler contentionProfiler = new ContentionProfiler();
+
     public long getDefaultWaitMillisTime() {
         return defaultWaitMillisTime;
     }
@@ -77,4 +165,413 @@ public class DLockProperties {
         this.renewalThreshold = renewalThreshold;
     }
 
+    public int getRenewalPoolSize() {
+        return renewalPoolSize;
+    }
+
+    public void setRenewalPoolSize(int renewalPoolSize) {
+        this.renewalPoolSize = renewalPoolSize;
+    }
+
+    public boolean isEnableBatchRenewal() {
+        return enableBatchRenewal;
+    }
+
+    public void setEnableBatchRenewal(boolean enableBatchRenewal) {
+        this.enableBatchRenewal = enableBatchRenewal;
+    }
+
+    public long getRenewalTickMillis() {
+        return renewalTickMillis;
+    }
+
+    public void setRenewalTickMillis(long renewalTickMillis) {
+        this.renewalTickMillis = renewalTickMillis;
+    }
+
+    public boolean isEnableVirtualThreads() {
+        return enableVirtualThreads;
+    }
+
+    public void setEnableVirtualThreads(boolean enableVirtualThreads) {
+        this.enableVirtualThreads = enableVirtualThreads;
+    }
+
+    public boolean isEnableSubscribe() {
+        return enableSubscribe;
+    }
+
+    public void setEnableSubscribe(boolean enableSubscribe) {
+        this.enableSubscribe = enableSubscribe;
+    }
+
+    public boolean isEnableLocalGate() {
+        return enableLocalGate;
+    }
+
+    public void setEnableLocalGate(boolean enableLocalGate) {
+        this.enableLocalGate = enableLocalGate;
+    }
+
+    public boolean isEnableFencing() {
+        return enableFencing;
+    }
+
+    public void setEnableFencing(boolean enableFencing) {
+        this.enableFencing = enableFencing;
+    }
+
+    public long getFenceTtlMillis() {
+        return fenceTtlMillis;
+    }
+
+    public void setFenceTtlMillis(long fenceTtlMillis) {
+        this.fenceTtlMillis = fenceTtlMillis;
+    }
+
+    public long getFairQueueTimeoutMillis() {
+        return fairQueueTimeoutMillis;
+    }
+
+    public void setFairQueueTimeoutMillis(long fairQueueTimeoutMillis) {
+        this.fairQueueTimeoutMillis = fairQueueTimeoutMillis;
+    }
+
+    public boolean isEnableCluster() {
+        return enableCluster;
+    }
+
+    public void setEnableCluster(boolean enableCluster) {
+        this.enableCluster = enableCluster;
+    }
+
+    public ScriptBackend getScriptBackend() {
+        return scriptBackend;
+    }
+
+    public void setScriptBackend(ScriptBackend scriptBackend) {
+        this.scriptBackend = scriptBackend;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    public Quorum getQuorum() {
+        return quorum;
+    }
+
+    public void setQuorum(Quorum quorum) {
+        this.quorum = quorum;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public AdaptiveLease getAdaptiveLease() {
+        return adaptiveLease;
+    }
+
+    public void setAdaptiveLease(AdaptiveLease adaptiveLease) {
+        this.adaptiveLease = adaptiveLease;
+    }
+
+    public ContentionProfiler getContentionProfiler() {
+        return contentionProfiler;
+    }
+
+    public void setContentionProfiler(ContentionProfiler contentionProfiler) {
+        this.contentionProfiler = contentionProfiler;
+    }
+
+    public static class Retry {
+
+        /**
+         * The retry strategy type, sleep {@code trySleepMillis} between attempts if not given.
+         */
+        private RetryType type;
+
+        /**
+         * The first (or fixed) delay between attempts, at least 1, default value is 50 milliseconds.
+         */
+        private long baseMillis = 50;
+
+        /**
+         * The max delay between attempts, not less than the base delay, default value is 1000 milliseconds.
+         */
+        private long maxMillis = 1000;
+
+        /**
+         * The delay multiplier of the exponential strategy, at least 1.
+         */
+        private double multiplier = 2;
+
+        /**
+         * Whether to cap the delay by the wait time left.
+         */
+        private boolean deadlineAware = true;
+
+        public RetryType getType() {
+            return type;
+        }
+
+        public void setType(RetryType type) {
+            this.type = type;
+        }
+
+        public long getBaseMillis() {
+            return baseMillis;
+        }
+
+        public void setBaseMillis(long baseMillis) {
+            this.baseMillis = baseMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(long maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public boolean isDeadlineAware() {
+            return deadlineAware;
+        }
+
+        public void setDeadlineAware(boolean deadlineAware) {
+            this.deadlineAware = deadlineAware;
+        }
+    }
+
+    public static class Quorum {
+
+        /**
+         * Whether to build the quorum lock factory.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The independent redis nodes, as redis uris, e.g. {@code redis://:password@host:6379/0}.
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        /**
+         * Max wait for the nodes to answer one attempt, in millis.
+         */
+        private long nodeTimeoutMillis = 100;
+
+        /**
+         * Clock drift between the nodes, as a factor of the lease time.
+         */
+        private double clockDriftFactor = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public long getNodeTimeoutMillis() {
+            return nodeTimeoutMillis;
+        }
+
+        public void setNodeTimeoutMillis(long nodeTimeoutMillis) {
+            this.nodeTimeoutMillis = nodeTimeoutMillis;
+        }
+
+        public double getClockDriftFactor() {
+            return clockDriftFactor;
+        }
+
+        public void setClockDriftFactor(double clockDriftFactor) {
+            this.clockDriftFactor = clockDriftFactor;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * Whether to record the lock metrics when a meter registry is present.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Max distinct key patterns tagged, the keys of further patterns are tagged as {@code other}.
+         */
+        private int maxKeyPatterns = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxKeyPatterns() {
+            return maxKeyPatterns;
+        }
+
+        public void setMaxKeyPatterns(int maxKeyPatterns) {
+            this.maxKeyPatterns = maxKeyPatterns;
+        }
+    }
+
+    public static class AdaptiveLease {
+
+        /**
+         * Whether to adapt the lease to the hold durations seen per key pattern.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The percentile of the hold durations the lease is based on.
+         */
+        private double percentile = 0.99;
+
+        /**
+         * The lease is the percentile times this factor, 3 keeps the holds up to the percentile from any renewal.
+         */
+        private double factor = 3;
+
+        /**
+         * The hold durations of a key pattern needed before its lease is adapted.
+         */
+        private long minSamples = 100;
+
+        /**
+         * The max lease in millis, also the lease before enough holds are seen or if not enabled.
+         */
+        private long maxMillis = 60000;
+
+        /**
+         * Max distinct key patterns recorded, the keys of further patterns get the max lease.
+         */
+        private int maxKeyPatterns = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public double getFactor() {
+            return factor;
+        }
+
+        public void setFactor(double factor) {
+            this.factor = factor;
+        }
+
+        public long getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(long minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(long maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+
+        public int getMaxKeyPatterns() {
+            return maxKeyPatterns;
+        }
+
+        public void setMaxKeyPatterns(int maxKeyPatterns) {
+            this.maxKeyPatterns = maxKeyPatterns;
+        }
+    }
+
+    public static class ContentionProfiler {
+
+        /**
+         * Whether to profile the contended lock keys.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Max lock keys tracked.
+         */
+        private int capacity = 1024;
+
+        /**
+         * Share of the contended acquires recorded, in (0, 1].
+         */
+        private double sampleRate = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public enum RetryType {
+        FIXED,
+        EXPONENTIAL,
+        DECORRELATED_JITTER
+    }
+
 }
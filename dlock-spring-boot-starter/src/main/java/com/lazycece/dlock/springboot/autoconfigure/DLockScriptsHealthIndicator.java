@@ -0,0 +1,51 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.lazycece.dlock.springboot.autoconfigure;
+
+import com.lazycece.dlock.core.script.ScriptRegistry;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.List;
+
+/**
+ * Reports whether redis knows all the dlock scripts, the missing ones are loaded again and the
+ * check is down only if that fails.
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class DLockScriptsHealthIndicator extends AbstractHealthIndicator {
+
+    private final ScriptRegistry scriptRegistry;
+
+    public DLockScriptsHealthIndicator(ScriptRegistry scriptRegistry) {
+        super("dlock scripts health check failed");
+        this.scriptRegistry = scriptRegistry;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        List<String> missing = scriptRegistry.missing();
+        builder.withDetail("scripts", ScriptRegistry.scripts().size());
+        if (!missing.isEmpty()) {
+            // flushed or failed over since, down only if they can not be loaded again.
+            scriptRegistry.load();
+            builder.withDetail("reloaded", missing);
+        }
+        builder.up();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *    Copyright 2026 lazycece<lazycece@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.lazycece.dlock.springboot.autoconfigure;
+
+import com.lazycece.dlock.core.observe.KeyPatterns;
+import com.lazycece.dlock.core.observe.LockObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the lock operations to micrometer, tagged by key pattern, see {@link KeyPatterns}. The meters are:
+ * <ul>
+ *     <li>{@code dlock.acquire} timer of try lock, tagged with outcome acquired or timeout</li>
+ *     <li>{@code dlock.acquire.attempts} summary of the redis attempts made by one try lock</li>
+ *     <li>{@code dlock.hold} timer of the critical sections, from acquired to released</li>
+ *     <li>{@code dlock.renewal} counter of the lease renewals, tagged with outcome renewed or lost</li>
+ *     <li>{@code dlock.held} gauge of the locks currently held, the ones found lost are taken off</li>
+ * </ul>
+ *
+ * @author lazycece
+ * @date 2026/10/18
+ */
+public class MicrometerLockObserver implements LockObserver {
+
+    static final String OTHER_PATTERN = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxKeyPatterns;
+    private final ConcurrentMap<String, KeyMeters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerLockObserver(MeterRegistry meterRegistry, int maxKeyPatterns) {
+        this.meterRegistry = meterRegistry;
+        this.maxKeyPatterns = maxKeyPatterns;
+    }
+
+    @Override
+    public void onAcquire(String lockKey, boolean acquired, int attempts, long waitNanos) {
+        KeyMeters keyMeters = this.meters(lockKey);
+        if (acquired) {
+            keyMeters.acquired.record(waitNanos, TimeUnit.NANOSECONDS);
+            keyMeters.held.incrementAndGet();
+        } else {
+            keyMeters.timeout.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+        keyMeters.attempts.record(attempts);
+    }
+
+    @Override
+    public void onRelease(String lockKey, long holdNanos) {
+        KeyMeters keyMeters = this.meters(lockKey);
+        keyMeters.hold.record(holdNanos, TimeUnit.NANOSECONDS);
+        keyMeters.held.decrementAndGet();
+    }
+
+    @Override
+    public void onLost(String lockKey) {
+        this.meters(lockKey).held.decrementAndGet();
+    }
+
+    @Override
+    public void onRenewal(String lockKey, boolean renewed) {
+        KeyMeters keyMeters = this.meters(lockKey);
+        (renewed ? keyMeters.renewed : keyMeters.lost).increment();
+    }
+
+    private KeyMeters meters(String lockKey) {
+        String pattern = KeyPatterns.of(lockKey);
+        KeyMeters keyMeters = meters.get(pattern);
+        if (keyMeters != null) {
+            return keyMeters;
+        }
+        if (meters.size() >= maxKeyPatterns) {
+            pattern = OTHER_PATTERN;
+        }
+        return meters.computeIfAbsent(pattern, KeyMeters::new);
+    }
+
+    private class KeyMeters {
+
+        private final Timer acquired;
+        private final Timer timeout;
+        private final DistributionSummary attempts;
+        private final Timer hold;
+        private final Counter renewed;
+        private final Counter lost;
+        private final AtomicLong held = new AtomicLong();
+
+        KeyMeters(String pattern) {
+            this.acquired = Timer.builder("dlock.acquire").description("time spent in try lock")
+                    .tag("key", pattern).tag("outcome", "acquired").register(meterRegistry);
+            this.timeout = Timer.builder("dlock.acquire").description("time spent in try lock")
+                    .tag("key", pattern).tag("outcome", "timeout").register(meterRegistry);
+            this.attempts = DistributionSummary.builder("dlock.acquire.attempts").description("redis attempts made by one try lock")
+                    .tag("key", pattern).register(meterRegistry);
+            this.hold = Timer.builder("dlock.hold").description("time from lock acquired to released")
+                    .tag("key", pattern).register(meterRegistry);
+            this.renewed = Counter.builder("dlock.renewal").description("lease renewals")
+                    .tag("key", pattern).tag("outcome", "renewed").register(meterRegistry);
+            this.lost = Counter.builder("dlock.renewal").description("lease renewals")
+                    .tag("key", pattern).tag("outcome", "lost").register(meterRegistry);
+            Gauge.builder("dlock.held", held, AtomicLong::get).description("locks currently held")
+                    .tag("key", pattern).register(meterRegistry);
+        }
+    }
+}